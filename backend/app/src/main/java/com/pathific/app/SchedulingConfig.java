@@ -0,0 +1,15 @@
+package com.pathific.app;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background jobs (recommendation pruning, rate-limit eviction, weekly winner...).
+ * Off for the one-shot datagen run, whose non-daemon scheduler threads would keep it alive.
+ */
+@Configuration
+@EnableScheduling
+@Profile("!datagen")
+public class SchedulingConfig {
+}
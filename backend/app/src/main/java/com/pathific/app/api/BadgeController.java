@@ -0,0 +1,40 @@
+package com.pathific.app.api;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.pathific.app.badges.BadgeEngine;
+
+@RestController
+@RequestMapping("/api/badges")
+public class BadgeController {
+  /** Also served by /api/home. */
+  static final String BADGES_SQL = "SELECT code, label, description FROM badges ORDER BY id";
+
+  private final JdbcTemplate jdbc;
+  private final BadgeEngine badges;
+
+  public BadgeController(JdbcTemplate jdbc, BadgeEngine badges) {
+    this.jdbc = jdbc;
+    this.badges = badges;
+  }
+
+  /** Every badge that can be earned. */
+  @GetMapping
+  public Map<String, Object> list() {
+    List<Map<String, Object>> items = jdbc.queryForList(BADGES_SQL);
+    return Map.of("ok", true, "items", items);
+  }
+
+  /** Badges the user holds (served from the per-user cache). */
+  @GetMapping("/users/{userId}")
+  public Map<String, Object> ofUser(@PathVariable long userId) {
+    return Map.of("ok", true, "userId", userId, "items", badges.badgesOf(userId));
+  }
+}
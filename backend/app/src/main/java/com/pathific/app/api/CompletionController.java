@@ -7,19 +7,28 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.pathific.app.entity.Completion;
+import com.pathific.app.leaderboard.LeaderboardService;
+import com.pathific.app.recommend.RecommendationService;
 import com.pathific.app.repository.CompletionRepository;
 
 @RestController @RequestMapping("/api/completions")
 public class CompletionController {
   private final CompletionRepository repo;
-  public CompletionController(CompletionRepository repo){ this.repo=repo; }
+  private final RecommendationService recommendations;
+  private final LeaderboardService leaderboard;
+  public CompletionController(CompletionRepository repo, RecommendationService recommendations, LeaderboardService leaderboard){
+    this.repo=repo; this.recommendations=recommendations; this.leaderboard=leaderboard;
+  }
 
   @PostMapping public Map<String,Object> complete(@RequestBody Map<String,Object> body){
     Long userId = Long.valueOf(String.valueOf(body.get("userId")));
     Long moduleId = Long.valueOf(String.valueOf(body.get("moduleId")));
-    repo.findByUserIdAndModuleId(userId, moduleId).orElseGet(() -> {
-      Completion c = new Completion(); c.setUserId(userId); c.setModuleId(moduleId); return repo.save(c);
-    });
+    if (repo.findByUserIdAndModuleId(userId, moduleId).isEmpty()) {
+      Completion c = new Completion(); c.setUserId(userId); c.setModuleId(moduleId);
+      Completion saved = repo.save(c);
+      recommendations.onCompletion(userId, moduleId);
+      leaderboard.onCompletion(saved.getId(), userId, moduleId);
+    }
     return Map.of("ok", true);
   }
 }
@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.pathific.app.cache.CatalogCache;
 import com.pathific.app.entity.Court;
 import com.pathific.app.repository.CourtRepository;
 
@@ -14,13 +15,15 @@ import com.pathific.app.repository.CourtRepository;
  @RequestMapping("/api/courts")
   public class CourtController {
      private final CourtRepository repo;
-      public CourtController(CourtRepository repo){
+     private final CatalogCache cache;
+      public CourtController(CourtRepository repo, CatalogCache cache){
          this.repo = repo;
+         this.cache = cache;
          }
          
          @GetMapping
           public Map<String, Object> list() {
-             List<Court> items = repo.findAll();
+             List<Court> items = cache.courts(() -> List.copyOf(repo.findAll()));
               return Map.of("ok", true, "items", items);
              }
             
@@ -0,0 +1,31 @@
+package com.pathific.app.api;
+
+/**
+ * Strong ETags for versioned rows: version 7 is sent as "7".
+ * Only single strong tags (or *) are understood in If-Match.
+ */
+final class ETags {
+  /** If-Match value that can never match a version. */
+  static final long NO_MATCH = -1;
+
+  private ETags() {}
+
+  static String of(Long version) {
+    return "\"" + version + "\"";
+  }
+
+  /**
+   * Expected version from an If-Match header: null when absent or "*" (update
+   * unconditionally), NO_MATCH when the header can't name one of our versions.
+   */
+  static Long expectedVersion(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+    String tag = ifMatch.trim();
+    if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') return NO_MATCH;
+    try {
+      return Long.parseLong(tag.substring(1, tag.length() - 1));
+    } catch (NumberFormatException e) {
+      return NO_MATCH;
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package com.pathific.app.api;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.pathific.app.flight.FlightRecording;
+
+/**
+ * Downloads the last N minutes of the always-on flight recording as a .jfr file
+ * (open with JDK Mission Control or `jfr print --events pathific.Request`).
+ * Requires X-Admin-Token = app.admin.token; disabled while no token is configured.
+ */
+@RestController
+public class FlightRecordingController {
+  private final ObjectProvider<FlightRecording> recording;
+  private final byte[] adminToken;
+
+  public FlightRecordingController(ObjectProvider<FlightRecording> recording,
+                                   @Value("${app.admin.token}") String adminToken) {
+    this.recording = recording;
+    this.adminToken = adminToken.getBytes(StandardCharsets.UTF_8);
+  }
+
+  @GetMapping("/api/admin/flight-recording")
+  public ResponseEntity<?> dump(@RequestParam(defaultValue = "10") int minutes,
+                                @RequestHeader(value = "X-Admin-Token", required = false) String token) {
+    if (adminToken.length == 0 || token == null
+        || !MessageDigest.isEqual(adminToken, token.getBytes(StandardCharsets.UTF_8))) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("ok", false, "error", "Admin token required"));
+    }
+    FlightRecording rec = recording.getIfAvailable();
+    if (rec == null) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("ok", false, "error", "Flight recording is disabled"));
+    }
+
+    Duration last = Duration.ofMinutes(Math.max(1, minutes));
+    if (last.compareTo(rec.maxAge()) > 0) last = rec.maxAge();
+    Duration window = last;
+    StreamingResponseBody body = out -> rec.dump(window, out);
+    String filename = "pathific-" + Instant.now().toString().replace(':', '-') + ".jfr";
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+        .body(body);
+  }
+}
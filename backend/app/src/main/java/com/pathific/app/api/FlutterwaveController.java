@@ -15,10 +15,17 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.RestTemplate;
 
+import com.pathific.app.flight.PaymentCallRecorder;
+
 @RestController @RequestMapping("/api/payments")
 public class FlutterwaveController {
   private final RestTemplate http = new RestTemplate();
 
+  public FlutterwaveController() {
+    // Every call to Flutterwave shows up in flight recordings
+    http.getInterceptors().add(new PaymentCallRecorder());
+  }
+
   private final String secretKey = System.getenv().getOrDefault("FLW_SECRET_KEY", "FLWSECK_TEST-xxxx");
   private final String redirectUrl = System.getenv().getOrDefault("FLW_REDIRECT_URL", "http://localhost:3000/payment/complete");
 
@@ -0,0 +1,106 @@
+package com.pathific.app.api;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.pathific.app.cache.CatalogCache;
+import com.pathific.app.fanout.FanOut;
+import com.pathific.app.repository.CourtRepository;
+
+/**
+ * Everything the explore/home pages need in one round trip: courts, the current weekly
+ * winner, badges and learn items, fetched concurrently.
+ *
+ * Each part has its own timeout. Parts that fail or time out are left out and named in
+ * "errors" (partial = true); only when every part failed is the response a 503.
+ * The same timeout is set as the part's statement_timeout: cancelling the branch only
+ * interrupts its thread, the database would otherwise keep running the query.
+ */
+@RestController
+public class HomeController {
+  private final FanOut fanOut;
+  private final CourtRepository courts;
+  private final CatalogCache cache;
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate readOnly;
+  private final Duration courtsTimeout;
+  private final Duration winnerTimeout;
+  private final Duration badgesTimeout;
+  private final Duration learnItemsTimeout;
+
+  public HomeController(
+      FanOut fanOut, CourtRepository courts, CatalogCache cache, JdbcTemplate jdbc,
+      PlatformTransactionManager transactions,
+      @Value("${app.home.timeouts.courts}") Duration courtsTimeout,
+      @Value("${app.home.timeouts.winner}") Duration winnerTimeout,
+      @Value("${app.home.timeouts.badges}") Duration badgesTimeout,
+      @Value("${app.home.timeouts.learn-items}") Duration learnItemsTimeout
+  ) {
+    this.fanOut = fanOut;
+    this.courts = courts;
+    this.cache = cache;
+    this.jdbc = jdbc;
+    this.readOnly = new TransactionTemplate(transactions);
+    this.readOnly.setReadOnly(true);
+    this.courtsTimeout = courtsTimeout;
+    this.winnerTimeout = winnerTimeout;
+    this.badgesTimeout = badgesTimeout;
+    this.learnItemsTimeout = learnItemsTimeout;
+  }
+
+  @GetMapping("/api/home")
+  public ResponseEntity<Map<String, Object>> home() throws InterruptedException {
+    FanOut.Results results;
+    try (FanOut.Scope scope = fanOut.open()) {
+      scope.fork("courts", courtsTimeout, () -> cache.courts(
+        () -> bounded(courtsTimeout, () -> List.copyOf(courts.findAll()))));
+      scope.fork("winner", winnerTimeout, () -> bounded(winnerTimeout, this::currentWinner));
+      scope.fork("badges", badgesTimeout, () -> bounded(badgesTimeout, () -> jdbc.queryForList(BadgeController.BADGES_SQL)));
+      scope.fork("learnItems", learnItemsTimeout, () -> cache.learnItems(
+        () -> bounded(learnItemsTimeout, () -> List.copyOf(jdbc.queryForList(LearnMoreController.ITEMS_SQL)))));
+      results = scope.join();
+    }
+
+    Map<String, Object> body = new LinkedHashMap<>();
+    body.put("ok", !results.allFailed());
+    body.putAll(results.values());
+    body.put("partial", results.partial());
+    if (results.partial()) body.put("errors", results.errors());
+    return ResponseEntity.status(results.allFailed() ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK).body(body);
+  }
+
+  /**
+   * Runs the part's queries in a read-only transaction whose statement_timeout matches the
+   * part's timeout, so Postgres gives up on them when the branch does. Cached parts only pay
+   * for this on a miss.
+   */
+  private <T> T bounded(Duration timeout, Supplier<T> queries) {
+    return readOnly.execute(tx -> {
+      jdbc.queryForObject("SELECT set_config('statement_timeout', ?, true)", String.class,
+        String.valueOf(Math.max(1, timeout.toMillis())));
+      return queries.get();
+    });
+  }
+
+  /** Latest winning week that has started, with its court; null if there is none yet. */
+  private Map<String, Object> currentWinner() {
+    List<Map<String, Object>> rows = jdbc.queryForList(
+      "SELECT w.court_id AS \"courtId\", c.name, c.slug, " +
+      "w.week_start::text AS week_start, w.week_end::text AS week_end, w.reason " +
+      "FROM weekly_winners w JOIN courts c ON c.id = w.court_id " +
+      "WHERE w.week_start <= CURRENT_DATE ORDER BY w.week_start DESC, w.id DESC LIMIT 1");
+    return rows.isEmpty() ? null : rows.get(0);
+  }
+}
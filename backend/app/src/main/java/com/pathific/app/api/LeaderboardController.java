@@ -0,0 +1,61 @@
+package com.pathific.app.api;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.pathific.app.leaderboard.LeaderboardService;
+import com.pathific.app.leaderboard.Standing;
+
+/**
+ * Learner leaderboards ranked by completed modules.
+ * Every endpoint takes an optional courtId; without it the global board is used.
+ */
+@RestController
+@RequestMapping("/api/leaderboard")
+public class LeaderboardController {
+  private static final int MAX_LIMIT = 100;
+  private static final int MAX_WINDOW = 25;
+
+  private final LeaderboardService leaderboard;
+
+  public LeaderboardController(LeaderboardService leaderboard) {
+    this.leaderboard = leaderboard;
+  }
+
+  @GetMapping
+  public Map<String, Object> top(@RequestParam(required = false) Long courtId,
+                                 @RequestParam(defaultValue = "10") int limit) {
+    int n = Math.max(1, Math.min(limit, MAX_LIMIT));
+    return Map.of(
+      "ok", true,
+      "total", leaderboard.board(courtId).size(),
+      "items", leaderboard.top(courtId, n)
+    );
+  }
+
+  @GetMapping("/users/{userId}")
+  public ResponseEntity<Map<String, Object>> standing(@PathVariable Long userId,
+                                                      @RequestParam(required = false) Long courtId) {
+    Standing standing = leaderboard.standingOf(courtId, userId);
+    if (standing == null) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+        .body(Map.of("ok", false, "error", "No completions for user " + userId));
+    }
+    return ResponseEntity.ok(Map.of("ok", true, "standing", standing));
+  }
+
+  @GetMapping("/users/{userId}/around")
+  public Map<String, Object> around(@PathVariable Long userId,
+                                    @RequestParam(required = false) Long courtId,
+                                    @RequestParam(defaultValue = "5") int window) {
+    int w = Math.max(0, Math.min(window, MAX_WINDOW));
+    return Map.of("ok", true, "items", leaderboard.around(courtId, userId, w));
+  }
+}
@@ -7,20 +7,26 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.pathific.app.cache.CatalogCache;
+
 @RestController
 public class LearnMoreController {
 
+  /** Also served by /api/home. */
+  static final String ITEMS_SQL =
+    "SELECT title, description, link, media_type AS \"mediaType\", media_url AS \"mediaUrl\" FROM learn_items ORDER BY id DESC";
+
   private final JdbcTemplate jdbc;
+  private final CatalogCache cache;
 
-  public LearnMoreController(JdbcTemplate jdbc) {
+  public LearnMoreController(JdbcTemplate jdbc, CatalogCache cache) {
     this.jdbc = jdbc;
+    this.cache = cache;
   }
 
   @GetMapping("/api/learnmore")
   public Map<String, Object> getLearnItems() {
-    List<Map<String, Object>> items = jdbc.queryForList(
-      "SELECT title, description, link, media_type AS \"mediaType\", media_url AS \"mediaUrl\" FROM learn_items ORDER BY id DESC"
-    );
+    List<Map<String, Object>> items = cache.learnItems(() -> List.copyOf(jdbc.queryForList(ITEMS_SQL)));
     return Map.of("items", items);
   }
 }
@@ -2,79 +2,99 @@ package com.pathific.app.api;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.pathific.app.badges.BadgeEngine;
+import com.pathific.app.cache.CatalogCache;
 import com.pathific.app.entity.Module;
+import com.pathific.app.events.DomainEvent;
 import com.pathific.app.repository.ModuleRepository;
+import com.pathific.app.repository.PatchResult;
+import com.pathific.app.users.UserRepository;
 
 @RestController
 @RequestMapping("/api/modules")
 public class ModuleController {
     private final ModuleRepository repo;
+    private final CatalogCache cache;
+    private final BadgeEngine badges;
+    private final UserRepository users;
     
-    public ModuleController(ModuleRepository repo) { 
+    public ModuleController(ModuleRepository repo, CatalogCache cache, BadgeEngine badges, UserRepository users) { 
         this.repo = repo; 
+        this.cache = cache;
+        this.badges = badges;
+        this.users = users;
     }
 
     @GetMapping("/{courtId}")
     public ResponseEntity<List<Module>> getModulesByCourt(@PathVariable Long courtId) {
-        List<Module> modules = repo.findByCourtIdOrderByOrderIndexAsc(courtId);
+        List<Module> modules = cache.modules(courtId, () -> List.copyOf(repo.findByCourtIdOrderByOrderIndexAsc(courtId)));
         return ResponseEntity.ok(modules);
     }
     
+    /** The caller (from their bearer token, required by SecurityConfig) becomes the module's curator. */
     @PostMapping("/{courtId}")
-    public ResponseEntity<Module> createModule(@PathVariable Long courtId, @RequestBody Module body) {
+    public ResponseEntity<Module> createModule(@PathVariable Long courtId, @RequestBody Module body, Authentication caller) {
         Module newModule = new Module();
         newModule.setCourtId(courtId);
         newModule.setTitle(body.getTitle());
         newModule.setSummary(body.getSummary());
         newModule.setOrderIndex(body.getOrderIndex());
+        newModule.setCuratorId(users.findNumericIdByEmail(caller.getName()));
         
         Module saved = repo.save(newModule);
-        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        cache.evict(CatalogCache.Region.MODULES, courtId);
+        badges.publish(new DomainEvent.ModuleCreated(saved.getId(), courtId, saved.getCuratorId()));
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(saved.getVersion())).body(saved);
     }
     
+    /**
+     * Partial update in a single UPDATE ... RETURNING. Send If-Match: "<version>" to
+     * update only if nobody changed the module since you read it (412 otherwise).
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateModule(@PathVariable Long id, @RequestBody Module body) {
-        Optional<Module> optionalModule = repo.findById(id);
-        
-        if (optionalModule.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+    public ResponseEntity<?> updateModule(@PathVariable Long id, @RequestBody Module body,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PatchResult<Module> result = repo.patch(id, ETags.expectedVersion(ifMatch),
+            body.getTitle(), body.getSummary(), body.getOrderIndex());
+
+        return switch (result.status()) {
+            case NOT_FOUND -> ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(Map.of("error", "Module not found with id: " + id));
-        }
-        
-        Module existing = optionalModule.get();
-        
-        // Update only if new value is provided
-        if (body.getTitle() != null) {
-            existing.setTitle(body.getTitle());
-        }
-        if (body.getSummary() != null) {
-            existing.setSummary(body.getSummary());
-        }
-        if (body.getOrderIndex() != null) {
-            existing.setOrderIndex(body.getOrderIndex());
-        }
-        
-        Module updated = repo.save(existing);
-        return ResponseEntity.ok(updated);
+            case VERSION_MISMATCH -> ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(ETags.of(result.currentVersion()))
+                .body(Map.of("error", "Module was changed by someone else; reload and retry",
+                             "currentVersion", result.currentVersion()));
+            case UPDATED -> {
+                cache.evict(CatalogCache.Region.MODULES, result.entity().getCourtId());
+                yield ResponseEntity.ok()
+                    .eTag(ETags.of(result.entity().getVersion()))
+                    .body(result.entity());
+            }
+        };
     }
     
     @DeleteMapping("/{id}")
     public ResponseEntity<Map<String, Object>> deleteModule(@PathVariable Long id) {
-        if (repo.existsById(id)) {
-            repo.deleteById(id);
+        Long courtId = repo.deleteReturningCourtId(id);
+        if (courtId != null) {
+            // Cascade removes its items too
+            cache.evict(CatalogCache.Region.MODULES, courtId);
+            cache.evict(CatalogCache.Region.ITEMS, id);
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "Module deleted successfully"
@@ -3,6 +3,8 @@ package com.pathific.app.api;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,31 +12,50 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.pathific.app.cache.CatalogCache;
 import com.pathific.app.entity.ModuleItem;
 import com.pathific.app.repository.ModuleItemRepository;
+import com.pathific.app.repository.PatchResult;
 
 @RestController @RequestMapping("/api/module-items")
 public class ModuleItemController {
   private final ModuleItemRepository repo;
-  public ModuleItemController(ModuleItemRepository repo){ this.repo=repo; }
+  private final CatalogCache cache;
+  public ModuleItemController(ModuleItemRepository repo, CatalogCache cache){ this.repo=repo; this.cache=cache; }
 
   @GetMapping("/{moduleId}") public List<ModuleItem> list(@PathVariable Long moduleId){
-    return repo.findByModuleIdOrderByPositionAsc(moduleId);
+    return cache.items(moduleId, () -> List.copyOf(repo.findByModuleIdOrderByPositionAsc(moduleId)));
   }
   @PostMapping("/{moduleId}") public ResponseEntity<ModuleItem> create(@PathVariable Long moduleId, @RequestBody ModuleItem body){
     ModuleItem mi=new ModuleItem(); mi.setModuleId(moduleId); mi.setTitle(body.getTitle());
     mi.setUrl(body.getUrl()); mi.setPosition(body.getPosition());
-    return ResponseEntity.ok(repo.save(mi));
+    ModuleItem saved=repo.save(mi);
+    cache.evict(CatalogCache.Region.ITEMS, moduleId);
+    return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(saved);
   }
-  @PutMapping("/{id}") public ResponseEntity<ModuleItem> update(@PathVariable Long id, @RequestBody ModuleItem body){
-    return repo.findById(id).map(e->{ if(body.getTitle()!=null)e.setTitle(body.getTitle());
-      if(body.getUrl()!=null)e.setUrl(body.getUrl());
-      if(body.getPosition()!=null)e.setPosition(body.getPosition());
-      return ResponseEntity.ok(repo.save(e)); }).orElseGet(()->ResponseEntity.notFound().build());
+  /** Partial update in one statement; If-Match: "<version>" makes it conditional (412 on conflict). */
+  @PutMapping("/{id}") public ResponseEntity<?> update(@PathVariable Long id, @RequestBody ModuleItem body,
+      @RequestHeader(value=HttpHeaders.IF_MATCH, required=false) String ifMatch){
+    PatchResult<ModuleItem> r=repo.patch(id, ETags.expectedVersion(ifMatch), body.getTitle(), body.getUrl(), body.getPosition());
+    return switch(r.status()){
+      case NOT_FOUND -> ResponseEntity.notFound().build();
+      case VERSION_MISMATCH -> ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(ETags.of(r.currentVersion()))
+        .body(Map.of("ok",false,"error","Item was changed by someone else; reload and retry","currentVersion",r.currentVersion()));
+      case UPDATED -> {
+        cache.evict(CatalogCache.Region.ITEMS, r.entity().getModuleId());
+        yield ResponseEntity.ok().eTag(ETags.of(r.entity().getVersion())).body(r.entity());
+      }
+    };
+  }
+  @DeleteMapping("/{id}") public ResponseEntity<Map<String,Object>> delete(@PathVariable Long id){
+    Long moduleId=repo.deleteReturningModuleId(id);
+    if(moduleId==null) return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("ok",false,"error","Item not found"));
+    cache.evict(CatalogCache.Region.ITEMS, moduleId);
+    return ResponseEntity.ok(Map.of("ok",true));
   }
-  @DeleteMapping("/{id}") public Map<String,Object> delete(@PathVariable Long id){ repo.deleteById(id); return Map.of("ok",true); }
 }
 
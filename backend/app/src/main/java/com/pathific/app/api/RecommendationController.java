@@ -0,0 +1,32 @@
+package com.pathific.app.api;
+
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.pathific.app.recommend.RecommendationService;
+
+@RestController
+@RequestMapping("/api/recommendations")
+public class RecommendationController {
+  private static final int MAX_LIMIT = 50;
+
+  private final RecommendationService recommendations;
+
+  public RecommendationController(RecommendationService recommendations) {
+    this.recommendations = recommendations;
+  }
+
+  @GetMapping
+  public Map<String, Object> recommend(@RequestParam Long userId, @RequestParam(defaultValue = "10") int limit) {
+    int n = Math.max(1, Math.min(limit, MAX_LIMIT));
+    return Map.of(
+      "ok", true,
+      "ready", recommendations.isReady(),
+      "items", recommendations.recommend(userId, n)
+    );
+  }
+}
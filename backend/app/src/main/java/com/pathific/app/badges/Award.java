@@ -0,0 +1,3 @@
+package com.pathific.app.badges;
+
+public record Award(long userId, String badgeCode) {}
@@ -0,0 +1,22 @@
+package com.pathific.app.badges;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The running totals badge rules look at, so no rule has to query history.
+ * Owned by the BadgeEngine worker thread: not thread-safe.
+ */
+final class BadgeCounters {
+  // curator -> court -> modules created
+  private final Map<Long, Map<Long, Integer>> curated = new HashMap<>();
+
+  /** Returns the curator's module count in the court after this one. */
+  int addCurated(long curatorId, long courtId, int modules) {
+    return curated.computeIfAbsent(curatorId, u -> new HashMap<>()).merge(courtId, modules, Integer::sum);
+  }
+
+  int curatorCount() {
+    return curated.size();
+  }
+}
@@ -0,0 +1,282 @@
+package com.pathific.app.badges;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.pathific.app.cache.CatalogCache;
+import com.pathific.app.events.DomainEvent;
+import com.pathific.app.events.DomainEvent.ModuleCreated;
+import com.pathific.app.events.DomainEvent.WeeklyWinnerComputed;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Awards badges from domain events.
+ *
+ * publish() only offers the event to a bounded queue, so the write paths never wait on
+ * badge work. One worker thread drains the queue in batches, runs BadgeRules against
+ * in-memory BadgeCounters (warmed once from modules), and saves the resulting awards
+ * with one batched INSERT ... ON CONFLICT DO NOTHING. Saving is idempotent, so a failed
+ * batch is simply retried.
+ *
+ * The weekly winner is picked by one aggregate query over the week's completions, so every
+ * node would pick the same court; the first one to record the week in weekly_winners awards
+ * it. Weeks missed while no node was running are closed on the next warm-up.
+ */
+@Service
+public class BadgeEngine {
+  private static final Logger log = LoggerFactory.getLogger(BadgeEngine.class);
+  private static final int MAX_UNSAVED = 100_000;
+  private static final long RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final boolean enabled;
+  private final JdbcTemplate jdbc;
+  private final CatalogCache cache;
+  private final BadgeRules rules;
+  private final BadgeCounters counters = new BadgeCounters();
+  private final BlockingQueue<DomainEvent> queue;
+  private final int batchSize;
+  private final int curatorMinModules;
+  private final ZoneId zone;
+  private final AtomicLong dropped = new AtomicLong();
+  private final AtomicReference<LocalDate> weekToClose = new AtomicReference<>();
+
+  // Worker thread only
+  private final Set<Award> unsaved = new LinkedHashSet<>();
+  private long lastFailedSave;
+  private boolean saveFailing;
+  // Modules at or below this id were already counted by the warm-up
+  private long warmedModuleId;
+
+  private volatile boolean running;
+  private Thread worker;
+
+  public BadgeEngine(
+      JdbcTemplate jdbc,
+      CatalogCache cache,
+      @Value("${app.badges.enabled}") boolean enabled,
+      @Value("${app.badges.queue-capacity}") int queueCapacity,
+      @Value("${app.badges.batch-size}") int batchSize,
+      @Value("${app.badges.curator-min-modules}") int curatorMinModules,
+      @Value("${app.badges.zone}") String zone
+  ) {
+    this.enabled = enabled;
+    this.jdbc = jdbc;
+    this.cache = cache;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.batchSize = batchSize;
+    this.curatorMinModules = curatorMinModules;
+    this.zone = ZoneId.of(zone);
+    this.rules = new BadgeRules(curatorMinModules);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!enabled) return;
+    running = true;
+    worker = Thread.ofPlatform().daemon().name("badge-engine").start(this::run);
+  }
+
+  /** Drains what's queued and saves it before the DataSource goes away. */
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    if (worker != null) {
+      worker.interrupt();
+      worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+  }
+
+  /** Never blocks: if the queue is full the event is dropped (and counted). */
+  public void publish(DomainEvent event) {
+    if (!enabled) return;
+    if (!queue.offer(event)) {
+      long n = dropped.incrementAndGet();
+      if (Long.bitCount(n) == 1) log.warn("badges: event queue full, {} events dropped so far", n);
+    }
+  }
+
+  /** Picks last week's winner (Monday-Sunday) once the week is over. */
+  @Scheduled(cron = "${app.badges.weekly-winner-cron}", zone = "${app.badges.zone}")
+  public void closeLastWeek() {
+    weekToClose.set(BadgeRules.weekStartOf(LocalDate.now(zone)).minusWeeks(1));
+  }
+
+  /** The user's badges (code, label, description, awardedAt), oldest first. */
+  public List<Map<String, Object>> badgesOf(long userId) {
+    return cache.userBadges(userId, () -> List.copyOf(jdbc.queryForList(
+      "SELECT b.code, b.label, b.description, ub.awarded_at AS \"awardedAt\" " +
+      "FROM user_badges ub JOIN badges b ON b.code = ub.badge_code " +
+      "WHERE ub.user_id = ? ORDER BY ub.awarded_at, b.code", userId)));
+  }
+
+  private void run() {
+    List<Award> awards = new ArrayList<>();
+    try {
+      warm(awards);
+    } catch (RuntimeException e) {
+      log.error("badges: warm-up failed, evaluating live events only", e);
+    }
+
+    List<DomainEvent> batch = new ArrayList<>(batchSize);
+    boolean stopping = false;
+    while (!stopping || !queue.isEmpty()) {
+      try {
+        DomainEvent first = stopping ? queue.poll() : queue.poll(1, TimeUnit.SECONDS);
+        if (first != null) {
+          batch.add(first);
+          queue.drainTo(batch, batchSize - 1);
+        }
+      } catch (InterruptedException e) {
+        stopping = true;
+      }
+      if (!running) stopping = true;
+
+      for (DomainEvent event : batch) {
+        if (alreadyCounted(event)) continue;
+        try {
+          rules.apply(event, counters, awards);
+        } catch (RuntimeException e) {
+          log.warn("badges: could not evaluate {}", event, e);
+        }
+      }
+      batch.clear();
+
+      LocalDate week = weekToClose.getAndSet(null);
+      if (week != null) closeWeek(week, awards);
+
+      save(awards, stopping);
+      awards.clear();
+    }
+  }
+
+  /**
+   * Counts existing curated modules (awarding CURATOR to curators already over the bar),
+   * then closes the weeks that ended without a recorded winner.
+   * A row whose id was taken before the watermark but committed after the scan is missed;
+   * that only shifts a count by one.
+   */
+  private void warm(List<Award> awards) {
+    long started = System.currentTimeMillis();
+    warmedModuleId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM modules", Long.class);
+
+    jdbc.query(
+      "SELECT curator_id, court_id, COUNT(*) FROM modules " +
+      "WHERE curator_id IS NOT NULL AND id <= ? GROUP BY curator_id, court_id",
+      rs -> {
+        long curatorId = rs.getLong(1);
+        if (counters.addCurated(curatorId, rs.getLong(2), rs.getInt(3)) >= curatorMinModules) {
+          awards.add(new Award(curatorId, BadgeRules.CURATOR));
+        }
+      },
+      warmedModuleId);
+
+    log.info("badges: warmed {} curators in {} ms", counters.curatorCount(), System.currentTimeMillis() - started);
+
+    for (LocalDate week : unclosedWeeks()) closeWeek(week, awards);
+  }
+
+  /**
+   * Ended weeks after the latest recorded one, oldest first. With no winner recorded yet,
+   * only last week: a fresh install does not backfill its whole history.
+   */
+  private List<LocalDate> unclosedWeeks() {
+    LocalDate lastWeek = BadgeRules.weekStartOf(LocalDate.now(zone)).minusWeeks(1);
+    LocalDate latest = jdbc.queryForObject(
+      "SELECT MAX(week_start) FROM weekly_winners WHERE week_start <= ?", LocalDate.class, lastWeek);
+    List<LocalDate> weeks = new ArrayList<>();
+    for (LocalDate w = latest == null ? lastWeek : latest.plusWeeks(1); !w.isAfter(lastWeek); w = w.plusWeeks(1)) {
+      weeks.add(w);
+    }
+    return weeks;
+  }
+
+  private boolean alreadyCounted(DomainEvent event) {
+    return switch (event) {
+      case ModuleCreated e -> e.moduleId() <= warmedModuleId;
+      case WeeklyWinnerComputed e -> false;
+    };
+  }
+
+  /**
+   * Records the court with the most completions in the week (lowest id on a tie) as its
+   * winner and awards its curators, unless another node recorded the week first. Curators
+   * are read from modules: this node's counters miss modules created on other nodes.
+   */
+  private void closeWeek(LocalDate weekStart, List<Award> awards) {
+    LocalDate weekEnd = weekStart.plusDays(6);
+    try {
+      // completed_at is a local timestamp in the badges zone, so the week's bounds are plain dates
+      List<Long> leaders = jdbc.queryForList(
+        "SELECT m.court_id FROM completions c JOIN modules m ON m.id = c.module_id " +
+        "WHERE c.completed_at >= ? AND c.completed_at < ? " +
+        "GROUP BY m.court_id ORDER BY COUNT(*) DESC, m.court_id LIMIT 1",
+        Long.class, weekStart, weekStart.plusWeeks(1));
+      if (leaders.isEmpty()) {
+        log.info("badges: no completions in week of {}, no winner", weekStart);
+        return;
+      }
+      long courtId = leaders.get(0);
+      List<Long> recorded = jdbc.queryForList(
+        "INSERT INTO weekly_winners (court_id, week_start, week_end, reason) VALUES (?, ?, ?, ?) " +
+        "ON CONFLICT (week_start) DO NOTHING RETURNING court_id",
+        Long.class, courtId, weekStart, weekEnd, "Most completions this week");
+      if (recorded.isEmpty()) return; // another node closed this week first
+      List<Long> curators = jdbc.queryForList(
+        "SELECT DISTINCT curator_id FROM modules WHERE court_id = ? AND curator_id IS NOT NULL ORDER BY curator_id",
+        Long.class, courtId);
+      log.info("badges: court {} won the week of {}, {} curators", courtId, weekStart, curators.size());
+      rules.apply(new WeeklyWinnerComputed(courtId, weekStart, weekEnd, curators), counters, awards);
+    } catch (DataAccessException e) {
+      log.warn("badges: could not record the winner of the week of {}", weekStart, e);
+    }
+  }
+
+  private void save(List<Award> awards, boolean force) {
+    unsaved.addAll(awards);
+    if (unsaved.isEmpty()) return;
+    // After a failure, wait a little instead of retrying on every batch
+    if (saveFailing && !force && System.nanoTime() - lastFailedSave < RETRY_NANOS) return;
+    List<Award> pending = new ArrayList<>(unsaved);
+    try {
+      jdbc.batchUpdate(
+        "INSERT INTO user_badges (user_id, badge_code) VALUES (?, ?) ON CONFLICT DO NOTHING",
+        pending, batchSize, (ps, a) -> {
+          ps.setLong(1, a.userId());
+          ps.setString(2, a.badgeCode());
+        });
+      for (Award a : pending) cache.evict(CatalogCache.Region.USER_BADGES, a.userId());
+      unsaved.clear();
+      saveFailing = false;
+      log.debug("badges: saved {} awards", pending.size());
+    } catch (DataAccessException e) {
+      saveFailing = true;
+      lastFailedSave = System.nanoTime();
+      log.warn("badges: could not save {} awards, will retry: {}", pending.size(), e.getMessage());
+      if (unsaved.size() > MAX_UNSAVED) {
+        log.error("badges: {} unsaved awards, dropping them", unsaved.size());
+        unsaved.clear();
+      }
+    }
+  }
+}
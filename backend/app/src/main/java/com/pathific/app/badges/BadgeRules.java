@@ -0,0 +1,48 @@
+package com.pathific.app.badges;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import com.pathific.app.events.DomainEvent;
+import com.pathific.app.events.DomainEvent.ModuleCreated;
+import com.pathific.app.events.DomainEvent.WeeklyWinnerComputed;
+
+/**
+ * Badge rules, evaluated one event at a time against BadgeCounters:
+ *  - CURATOR: the curator's module count in a court reaches curatorMinModules;
+ *  - WEEKLY_WINNER: every curator of the court that won the week (the event carries them,
+ *    read from the database, since this node may not have seen every module created).
+ * Completions are not events here: BadgeEngine picks the weekly winner with one query
+ * over the week's completions, where every node's completions are.
+ */
+final class BadgeRules {
+  static final String CURATOR = "CURATOR";
+  static final String WEEKLY_WINNER = "WEEKLY_WINNER";
+
+  private final int curatorMinModules;
+
+  BadgeRules(int curatorMinModules) {
+    this.curatorMinModules = curatorMinModules;
+  }
+
+  void apply(DomainEvent event, BadgeCounters counters, List<Award> awards) {
+    switch (event) {
+      case ModuleCreated e -> {
+        if (e.curatorId() == null) return;
+        // == rather than >=: award on the crossing only, not on every later module
+        if (counters.addCurated(e.curatorId(), e.courtId(), 1) == curatorMinModules) {
+          awards.add(new Award(e.curatorId(), CURATOR));
+        }
+      }
+      case WeeklyWinnerComputed e -> {
+        for (long curatorId : e.curatorIds()) awards.add(new Award(curatorId, WEEKLY_WINNER));
+      }
+    }
+  }
+
+  static LocalDate weekStartOf(LocalDate day) {
+    return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+  }
+}
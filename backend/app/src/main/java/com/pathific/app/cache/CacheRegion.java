@@ -0,0 +1,52 @@
+package com.pathific.app.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * One keyed area of the catalog cache (e.g. modules by court id).
+ *
+ * Loads are not locked; a generation counter makes sure a load that raced with an
+ * invalidation never leaves its (possibly stale) result behind.
+ */
+final class CacheRegion<V> {
+  private final Map<Long, V> entries = new ConcurrentHashMap<>();
+  private final AtomicLong generation = new AtomicLong();
+  private final int maxEntries;
+
+  CacheRegion(int maxEntries) {
+    this.maxEntries = maxEntries;
+  }
+
+  V get(long key, Supplier<V> loader) {
+    V cached = entries.get(key);
+    if (cached != null) return cached;
+
+    long gen = generation.get();
+    V loaded = loader.get();
+    if (loaded == null) return null;
+    if (entries.size() >= maxEntries) entries.clear();
+    entries.put(key, loaded);
+    if (generation.get() != gen) {
+      // An invalidation landed while we were loading: don't trust what we read
+      entries.remove(key, loaded);
+    }
+    return loaded;
+  }
+
+  void evict(long key) {
+    generation.incrementAndGet();
+    entries.remove(key);
+  }
+
+  void clear() {
+    generation.incrementAndGet();
+    entries.clear();
+  }
+
+  int size() {
+    return entries.size();
+  }
+}
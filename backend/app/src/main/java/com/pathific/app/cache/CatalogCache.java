@@ -0,0 +1,145 @@
+package com.pathific.app.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.pathific.app.entity.Court;
+import com.pathific.app.entity.Module;
+import com.pathific.app.entity.ModuleItem;
+
+/**
+ * In-process cache of the read-mostly catalog: courts, modules per court, items per
+ * module and learn items, plus each user's badges. Kept coherent across nodes by CatalogInvalidationListener;
+ * writers on this node also evict directly so they read their own writes at once.
+ *
+ * While coherence can't be guaranteed (listener disconnected) reads bypass the cache.
+ */
+@Component
+public class CatalogCache {
+
+  /** Region codes, as used in invalidation messages ("m:12,13", "c:*", "*"). */
+  public enum Region {
+    COURTS('c'), MODULES('m'), ITEMS('i'), LEARN_ITEMS('l'), USER_BADGES('b');
+
+    final char code;
+
+    Region(char code) {
+      this.code = code;
+    }
+
+    static Region of(char code) {
+      for (Region r : values()) if (r.code == code) return r;
+      return null;
+    }
+  }
+
+  private static final long ALL = 0L;
+
+  private final boolean enabled;
+  private final CacheRegion<List<Court>> courts;
+  private final CacheRegion<List<Module>> modules;
+  private final CacheRegion<List<ModuleItem>> items;
+  private final CacheRegion<List<Map<String, Object>>> learnItems;
+  private final CacheRegion<List<Map<String, Object>>> userBadges;
+  private volatile boolean coherent = true;
+
+  public CatalogCache(
+      @Value("${app.cache.enabled}") boolean enabled,
+      @Value("${app.cache.max-entries}") int maxEntries
+  ) {
+    this.enabled = enabled;
+    this.courts = new CacheRegion<>(1);
+    this.modules = new CacheRegion<>(maxEntries);
+    this.items = new CacheRegion<>(maxEntries);
+    this.learnItems = new CacheRegion<>(1);
+    this.userBadges = new CacheRegion<>(maxEntries);
+  }
+
+  public List<Court> courts(Supplier<List<Court>> loader) {
+    return read(courts, ALL, loader);
+  }
+
+  public List<Module> modules(long courtId, Supplier<List<Module>> loader) {
+    return read(modules, courtId, loader);
+  }
+
+  public List<ModuleItem> items(long moduleId, Supplier<List<ModuleItem>> loader) {
+    return read(items, moduleId, loader);
+  }
+
+  public List<Map<String, Object>> learnItems(Supplier<List<Map<String, Object>>> loader) {
+    return read(learnItems, ALL, loader);
+  }
+
+  public List<Map<String, Object>> userBadges(long userId, Supplier<List<Map<String, Object>>> loader) {
+    return read(userBadges, userId, loader);
+  }
+
+  public void evict(Region region, long key) {
+    switch (region) {
+      case COURTS -> courts.clear();
+      case MODULES -> modules.evict(key);
+      case ITEMS -> items.evict(key);
+      case LEARN_ITEMS -> learnItems.clear();
+      case USER_BADGES -> userBadges.evict(key);
+    }
+  }
+
+  public void evictAll(Region region) {
+    switch (region) {
+      case COURTS -> courts.clear();
+      case MODULES -> modules.clear();
+      case ITEMS -> items.clear();
+      case LEARN_ITEMS -> learnItems.clear();
+      case USER_BADGES -> userBadges.clear();
+    }
+  }
+
+  public void clear() {
+    for (Region r : Region.values()) evictAll(r);
+  }
+
+  /**
+   * Applies one invalidation message: "*" (everything), "m:*" (a whole region) or
+   * "m:12,13" (keys in a region). Unknown or malformed messages flush everything.
+   */
+  public void apply(String message) {
+    if (message == null || message.length() < 3 || message.charAt(1) != ':') {
+      clear();
+      return;
+    }
+    Region region = Region.of(message.charAt(0));
+    if (region == null) {
+      clear();
+      return;
+    }
+    String keys = message.substring(2);
+    if (keys.equals("*")) {
+      evictAll(region);
+      return;
+    }
+    try {
+      for (String key : keys.split(",")) evict(region, Long.parseLong(key));
+    } catch (NumberFormatException e) {
+      evictAll(region);
+    }
+  }
+
+  /**
+   * Set by the listener: false while disconnected, which turns the cache into a pass-through.
+   * Flushed on both transitions, so nothing loaded around a gap survives it.
+   */
+  void setCoherent(boolean coherent) {
+    clear();
+    this.coherent = coherent;
+  }
+
+  private <V> V read(CacheRegion<V> region, long key, Supplier<V> loader) {
+    if (!enabled || !coherent) return loader.get();
+    return region.get(key, loader);
+  }
+}
@@ -0,0 +1,131 @@
+package com.pathific.app.cache;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps CatalogCache coherent with writes made by other nodes (and by psql, migrations,
+ * the data generator...): LISTENs on catalog_invalidation, which the triggers from
+ * migrations/009_catalog_notify.sql publish to.
+ *
+ * Uses its own connection outside the Hikari pool, since LISTEN is bound to a session.
+ * Any notification may have been missed while the connection was down, so the cache
+ * is a pass-through until we are listening again, and starts empty when we are.
+ */
+@Component
+public class CatalogInvalidationListener {
+  private static final Logger log = LoggerFactory.getLogger(CatalogInvalidationListener.class);
+  static final String CHANNEL = "catalog_invalidation";
+  private static final int POLL_MILLIS = 5_000;
+  private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+  private final CatalogCache cache;
+  private final boolean enabled;
+  private final String url;
+  private final String username;
+  private final String password;
+  private final long healthCheckMillis;
+
+  private volatile boolean running;
+  private volatile Connection current;
+  private Thread thread;
+
+  public CatalogInvalidationListener(
+      CatalogCache cache,
+      @Value("${app.cache.listen}") boolean enabled,
+      @Value("${app.cache.health-check-ms}") long healthCheckMillis,
+      @Value("${spring.datasource.url}") String url,
+      @Value("${spring.datasource.username}") String username,
+      @Value("${spring.datasource.password}") String password
+  ) {
+    this.cache = cache;
+    this.enabled = enabled;
+    this.healthCheckMillis = healthCheckMillis;
+    this.url = url;
+    this.username = username;
+    this.password = password;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!enabled) return;
+    cache.setCoherent(false);
+    running = true;
+    thread = Thread.ofPlatform().daemon().name("catalog-listener").start(this::run);
+  }
+
+  @PreDestroy
+  public void stop() {
+    running = false;
+    closeQuietly(current);
+    if (thread != null) thread.interrupt();
+  }
+
+  private void run() {
+    long backoff = 1_000;
+    while (running) {
+      try (Connection con = DriverManager.getConnection(url, username, password)) {
+        current = con;
+        try (Statement st = con.createStatement()) {
+          st.execute("LISTEN " + CHANNEL);
+        }
+        cache.setCoherent(true);
+        log.info("catalog cache: listening for invalidations");
+        backoff = 1_000;
+        listen(con);
+      } catch (SQLException e) {
+        if (running) log.warn("catalog cache: listener connection lost ({}), bypassing cache until reconnected", e.getMessage());
+      } finally {
+        current = null;
+        cache.setCoherent(false);
+      }
+      if (!running) return;
+      try {
+        Thread.sleep(backoff);
+      } catch (InterruptedException e) {
+        return;
+      }
+      backoff = Math.min(MAX_BACKOFF_MILLIS, backoff * 2);
+    }
+  }
+
+  private void listen(Connection con) throws SQLException {
+    PGConnection pg = con.unwrap(PGConnection.class);
+    long checkedAt = System.currentTimeMillis();
+    while (running) {
+      PGNotification[] notifications = pg.getNotifications(POLL_MILLIS);
+      if (notifications != null) {
+        for (PGNotification n : notifications) cache.apply(n.getParameter());
+      }
+      // A silently dropped TCP connection never wakes getNotifications with an error
+      if (System.currentTimeMillis() - checkedAt >= healthCheckMillis) {
+        try (Statement st = con.createStatement()) {
+          st.execute("SELECT 1");
+        }
+        checkedAt = System.currentTimeMillis();
+      }
+    }
+  }
+
+  private static void closeQuietly(Connection con) {
+    if (con == null) return;
+    try {
+      con.close();
+    } catch (SQLException ignored) {
+      // shutting down
+    }
+  }
+}
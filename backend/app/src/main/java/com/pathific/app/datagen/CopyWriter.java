@@ -0,0 +1,87 @@
+package com.pathific.app.datagen;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+/**
+ * Buffered writer for one COPY ... FROM STDIN stream (text format, tab separated).
+ * Rows are built in a StringBuilder and shipped to the server in ~64KB chunks.
+ */
+class CopyWriter implements AutoCloseable {
+  private static final int FLUSH_AT = 64 * 1024;
+
+  private final CopyIn copy;
+  private final StringBuilder buf = new StringBuilder(FLUSH_AT + 1024);
+  private boolean firstField = true;
+  private boolean done;
+
+  CopyWriter(CopyManager copyApi, String table, String columns) throws SQLException {
+    this.copy = copyApi.copyIn("COPY " + table + " (" + columns + ") FROM STDIN");
+  }
+
+  CopyWriter field(long value) {
+    sep();
+    buf.append(value);
+    return this;
+  }
+
+  CopyWriter field(String value) {
+    sep();
+    if (value == null) {
+      buf.append("\\N");
+      return this;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '\\' -> buf.append("\\\\");
+        case '\t' -> buf.append("\\t");
+        case '\n' -> buf.append("\\n");
+        case '\r' -> buf.append("\\r");
+        default -> buf.append(c);
+      }
+    }
+    return this;
+  }
+
+  void endRow() throws SQLException {
+    buf.append('\n');
+    firstField = true;
+    if (buf.length() >= FLUSH_AT) {
+      flush();
+    }
+  }
+
+  /** Ends the COPY and returns the number of rows the server accepted. */
+  long finish() throws SQLException {
+    flush();
+    done = true;
+    return copy.endCopy();
+  }
+
+  @Override
+  public void close() throws SQLException {
+    if (!done && copy.isActive()) {
+      copy.cancelCopy();
+    }
+  }
+
+  private void sep() {
+    if (!firstField) {
+      buf.append('\t');
+    }
+    firstField = false;
+  }
+
+  private void flush() throws SQLException {
+    if (buf.length() == 0) {
+      return;
+    }
+    byte[] bytes = buf.toString().getBytes(StandardCharsets.UTF_8);
+    copy.writeToCopy(bytes, 0, bytes.length);
+    buf.setLength(0);
+  }
+}
@@ -0,0 +1,55 @@
+package com.pathific.app.datagen;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Wires the synthetic data generator. Only active with the "datagen" profile, e.g.
+ *   SPRING_PROFILES_ACTIVE=datagen APP_DATAGEN_USERS=1000000 APP_DATAGEN_COMPLETIONS=10000000 java -jar app.jar
+ * The application loads the data and exits (no web server or scheduler in that profile).
+ */
+@Configuration
+@Profile("datagen")
+public class DataGenConfig {
+
+  /**
+   * Generation settings from app.datagen.* in application.yaml.
+   * An empty "until" means start of today (UTC); pin it to get byte-identical timestamps across days.
+   */
+  @Bean
+  public DataGenSettings dataGenSettings(
+      @Value("${app.datagen.users}") long users,
+      @Value("${app.datagen.courts}") int courts,
+      @Value("${app.datagen.modules-per-court}") double modulesPerCourt,
+      @Value("${app.datagen.items-per-module}") double itemsPerModule,
+      @Value("${app.datagen.completions}") long completions,
+      @Value("${app.datagen.popularity-skew}") double popularitySkew,
+      @Value("${app.datagen.seed}") long seed,
+      @Value("${app.datagen.threads}") int threads,
+      @Value("${app.datagen.truncate}") boolean truncate,
+      @Value("${app.datagen.until:}") String until
+  ) {
+    Instant end = until.isBlank()
+      ? LocalDate.now(ZoneOffset.UTC).atStartOfDay().toInstant(ZoneOffset.UTC)
+      : Instant.parse(until);
+    return new DataGenSettings(users, courts, modulesPerCourt, itemsPerModule, completions,
+      popularitySkew, seed, threads, truncate, end);
+  }
+
+  /**
+   * All generated users share one bcrypt hash (of DataGenerator.PASSWORD) so they can log in,
+   * without paying for millions of bcrypt rounds.
+   */
+  @Bean
+  public DataGenerator dataGenerator(JdbcTemplate jdbc, DataGenSettings settings, PasswordEncoder encoder) {
+    return new DataGenerator(jdbc, settings, encoder.encode(DataGenerator.PASSWORD));
+  }
+}
@@ -0,0 +1,45 @@
+package com.pathific.app.datagen;
+
+import java.time.Instant;
+
+/**
+ * Scale and shape of a generated dataset (bound from app.datagen.* in application.yaml).
+ *
+ * @param users            number of users to create
+ * @param courts           number of courts to create
+ * @param modulesPerCourt  mean modules per court (log-normal spread)
+ * @param itemsPerModule   mean module items per module (log-normal spread)
+ * @param completions      approximate total completions; spread over users with a heavy tail
+ * @param popularitySkew   Zipf exponent for court popularity (0 = uniform)
+ * @param seed             RNG seed; the same seed and sizes give the same rows
+ * @param threads          parallel COPY streams
+ * @param truncate         wipe target tables before loading
+ * @param until            latest timestamp used for created_at / completed_at
+ */
+public record DataGenSettings(
+    long users,
+    int courts,
+    double modulesPerCourt,
+    double itemsPerModule,
+    long completions,
+    double popularitySkew,
+    long seed,
+    int threads,
+    boolean truncate,
+    Instant until
+) {
+  public DataGenSettings {
+    if (users < 0 || courts < 1 || completions < 0) {
+      throw new IllegalArgumentException("app.datagen: users/completions must be >= 0 and courts >= 1");
+    }
+    if (modulesPerCourt < 1 || itemsPerModule < 1) {
+      throw new IllegalArgumentException("app.datagen: modules-per-court and items-per-module must be >= 1");
+    }
+    threads = Math.max(1, threads);
+  }
+
+  /** Mean completions per user. */
+  double completionsPerUser() {
+    return users == 0 ? 0 : (double) completions / users;
+  }
+}
@@ -0,0 +1,293 @@
+package com.pathific.app.datagen;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Loads a synthetic dataset (users, courts, modules, module_items, completions)
+ * through parallel COPY streams.
+ *
+ * Ids are assigned by the generator, so modules respect uq_court_order (order_index
+ * 0..n-1 per court), items respect uq_module_position and completions respect
+ * uq_user_module (a user walks each court's modules at most once).
+ *
+ * completions.user_id is BIGINT while users.id is a UUID, so generated users carry
+ * their numeric key in external_id and completions reference that key.
+ */
+public class DataGenerator implements CommandLineRunner {
+  private static final Logger log = LoggerFactory.getLogger(DataGenerator.class);
+
+  static final String EMAIL_DOMAIN = "gen.pathific.local";
+  static final String PASSWORD = "password123";
+
+  private static final double ACTIVITY_ALPHA = 2.5;
+  private static final double ACTIVITY_MEAN = ACTIVITY_ALPHA / (ACTIVITY_ALPHA - 1);
+  private static final double CONTINUE_IN_COURT = 0.8;
+  private static final int MAX_COMPLETIONS_PER_USER = 500;
+  private static final long HISTORY_SECONDS = Duration.ofDays(180).toSeconds();
+
+  private static final String[] CATEGORIES = {"Technology", "Business", "Design", "Health", "Finance", "Language", "Music", "Science"};
+  private static final String[] ADJECTIVES = {"Applied", "Practical", "Modern", "Deep", "Everyday", "Creative", "Hands-on", "Essential"};
+  private static final String[] TOPICS = {"AI Craft", "Creator Economics", "Mobile Money", "Product Design", "Data Stories", "Agritech", "Photography", "Public Speaking", "Swahili", "Personal Finance", "Cloud Basics", "Music Production"};
+  private static final String[] FIRST_NAMES = {"Amina", "Brian", "Wanjiru", "Kevin", "Achieng", "Otieno", "Faith", "Kamau", "Zawadi", "Mercy", "Daniel", "Njeri"};
+  private static final String[] LAST_NAMES = {"Mwangi", "Odhiambo", "Kariuki", "Wambui", "Kiptoo", "Mutua", "Njoroge", "Chebet", "Omondi", "Wafula"};
+  private static final String[] CITIES = {"Nairobi", "Nairobi", "Nairobi", "Mombasa", "Kisumu", "Nakuru", "Eldoret", "Thika", "Kampala", "Lagos"};
+  private static final String[] LEVELS = {"beginner", "beginner", "intermediate", "advanced"};
+
+  private final JdbcTemplate jdbc;
+  private final DataGenSettings settings;
+  private final String passwordHash;
+
+  public DataGenerator(JdbcTemplate jdbc, DataGenSettings settings, String passwordHash) {
+    this.jdbc = jdbc;
+    this.settings = settings;
+    this.passwordHash = passwordHash;
+  }
+
+  @Override
+  public void run(String... args) throws Exception {
+    long started = System.nanoTime();
+    if (settings.truncate()) {
+      log.warn("datagen: truncating courts, modules, module_items, completions and users (CASCADE)");
+      jdbc.execute("TRUNCATE completions, module_items, modules, courts, users RESTART IDENTITY CASCADE");
+    }
+
+    DataShape shape = new DataShape(settings,
+      maxOf("SELECT COALESCE(MAX(id), 0) FROM courts"),
+      maxOf("SELECT COALESCE(MAX(id), 0) FROM modules"),
+      maxOf("SELECT COALESCE(MAX(id), 0) FROM module_items"),
+      userBase());
+    log.info("datagen: {} courts, {} modules, {} items, {} users, ~{} completions (seed={}, threads={})",
+      shape.courts(), shape.modules(), shape.items(), settings.users(), settings.completions(),
+      settings.seed(), settings.threads());
+
+    ExecutorService pool = Executors.newFixedThreadPool(settings.threads());
+    try {
+      // Parents first so foreign keys hold; everything below modules is independent
+      await(List.of(pool.submit(() -> copyCourts(shape))));
+      await(partition(pool, shape.courts(), (from, to) -> copyModules(shape, (int) from, (int) to)));
+
+      List<Future<Long>> tail = new ArrayList<>();
+      tail.addAll(partition(pool, shape.modules(), (from, to) -> copyItems(shape, (int) from, (int) to)));
+      tail.addAll(partition(pool, settings.users(), (from, to) -> copyUsers(shape, from, to)));
+      tail.addAll(partition(pool, settings.users(), (from, to) -> copyCompletions(shape, from, to)));
+      await(tail);
+    } finally {
+      pool.shutdownNow();
+    }
+
+    for (String table : List.of("courts", "modules", "module_items")) {
+      jdbc.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), (SELECT GREATEST(MAX(id), 1) FROM " + table + "))");
+    }
+    jdbc.execute("ANALYZE courts, modules, module_items, users, completions");
+
+    Long completions = jdbc.queryForObject("SELECT COUNT(*) FROM completions", Long.class);
+    log.info("datagen: done in {}s, completions table now has {} rows",
+      Duration.ofNanos(System.nanoTime() - started).toSeconds(), completions);
+  }
+
+  private long copyCourts(DataShape shape) throws SQLException {
+    return copy("courts", "id, name, category, slug, summary", w -> {
+      for (int c = 0; c < shape.courts(); c++) {
+        SplittableRandom rng = shape.rng(DataShape.STREAM_COURTS, c);
+        long id = shape.courtId(c);
+        String topic = pick(rng, TOPICS);
+        String name = pick(rng, ADJECTIVES) + " " + topic;
+        w.field(id)
+          .field(name)
+          .field(pick(rng, CATEGORIES))
+          .field(slug(name) + "-" + id)
+          .field("A curated path through " + topic.toLowerCase() + ", " + shape.modulesIn(c) + " modules deep.")
+          .endRow();
+      }
+    });
+  }
+
+  private long copyModules(DataShape shape, int fromCourt, int toCourt) throws SQLException {
+    return copy("modules", "id, court_id, title, summary, order_index", w -> {
+      for (int c = fromCourt; c < toCourt; c++) {
+        long courtId = shape.courtId(c);
+        for (int order = 0; order < shape.modulesIn(c); order++) {
+          int m = shape.moduleStart[c] + order;
+          SplittableRandom rng = shape.rng(DataShape.STREAM_MODULES, ~m);
+          w.field(shape.moduleId(m))
+            .field(courtId)
+            .field("Module " + (order + 1) + ": " + pick(rng, TOPICS))
+            .field(rng.nextInt(4) == 0 ? null : "Step " + (order + 1) + " of court " + courtId)
+            .field(order)
+            .endRow();
+        }
+      }
+    });
+  }
+
+  private long copyItems(DataShape shape, int fromModule, int toModule) throws SQLException {
+    return copy("module_items", "id, module_id, title, url, position", w -> {
+      for (int m = fromModule; m < toModule; m++) {
+        long moduleId = shape.moduleId(m);
+        for (int pos = 0; pos < shape.itemsIn(m); pos++) {
+          w.field(shape.itemId(m, pos))
+            .field(moduleId)
+            .field("Lesson " + (pos + 1))
+            .field("https://example.com/modules/" + moduleId + "/lessons/" + (pos + 1))
+            .field(pos)
+            .endRow();
+        }
+      }
+    });
+  }
+
+  private long copyUsers(DataShape shape, long fromUser, long toUser) throws SQLException {
+    return copy("users", "id, external_id, name, email, password_hash, city, level, role, created_at", w -> {
+      for (long u = fromUser; u < toUser; u++) {
+        SplittableRandom rng = shape.rng(DataShape.STREAM_USERS, u);
+        long key = shape.userKey(u);
+        UUID id = new UUID((rng.nextLong() & ~0xF000L) | 0x4000L, (rng.nextLong() & ~(3L << 62)) | (2L << 62));
+        w.field(id.toString())
+          .field(String.valueOf(key))
+          .field(pick(rng, FIRST_NAMES) + " " + pick(rng, LAST_NAMES))
+          .field("user" + key + "@" + EMAIL_DOMAIN)
+          .field(passwordHash)
+          .field(pick(rng, CITIES))
+          .field(pick(rng, LEVELS))
+          .field("user")
+          .field(settings.until().minusSeconds(rng.nextLong(HISTORY_SECONDS * 2)).toString())
+          .endRow();
+      }
+    });
+  }
+
+  /**
+   * Each user gets a heavy-tailed (Pareto) completion budget around the configured mean,
+   * then spends it by picking Zipf-popular courts and walking their modules in order,
+   * dropping out with probability 1 - CONTINUE_IN_COURT after each module.
+   */
+  private long copyCompletions(DataShape shape, long fromUser, long toUser) throws SQLException {
+    int cap = Math.min(MAX_COMPLETIONS_PER_USER, shape.modules());
+    return copy("completions", "user_id, module_id, completed_at", w -> {
+      int[] visited = new int[16];
+      for (long u = fromUser; u < toUser; u++) {
+        SplittableRandom rng = shape.rng(DataShape.STREAM_COMPLETIONS, u);
+        double activity = Math.pow(1 - rng.nextDouble(), -1 / ACTIVITY_ALPHA);
+        int budget = (int) Math.min(cap, Math.round(settings.completionsPerUser() * activity / ACTIVITY_MEAN));
+        if (budget == 0) continue;
+
+        long userKey = shape.userKey(u);
+        Instant at = settings.until().minusSeconds(rng.nextLong(HISTORY_SECONDS));
+        int visitedCount = 0;
+        for (int attempts = budget * 3 + 3; budget > 0 && attempts > 0; attempts--) {
+          int court = shape.samplePopularCourt(rng);
+          if (contains(visited, visitedCount, court)) continue;
+          if (visitedCount == visited.length) visited = Arrays.copyOf(visited, visitedCount * 2);
+          visited[visitedCount++] = court;
+
+          for (int order = 0; order < shape.modulesIn(court) && budget > 0; order++) {
+            w.field(userKey)
+              .field(shape.moduleId(shape.moduleStart[court] + order))
+              .field(at.toString())
+              .endRow();
+            budget--;
+            at = min(settings.until(), at.plusSeconds(600 + rng.nextLong(3 * 86_400)));
+            if (rng.nextDouble() > CONTINUE_IN_COURT) break;
+          }
+        }
+      }
+    });
+  }
+
+  // --- plumbing ---
+
+  @FunctionalInterface
+  private interface RowSource {
+    void write(CopyWriter w) throws SQLException;
+  }
+
+  @FunctionalInterface
+  private interface RangeTask {
+    long load(long from, long to) throws SQLException;
+  }
+
+  private long copy(String table, String columns, RowSource rows) {
+    Long n = jdbc.execute((ConnectionCallback<Long>) con -> {
+      CopyManager copyApi = con.unwrap(PGConnection.class).getCopyAPI();
+      try (CopyWriter w = new CopyWriter(copyApi, table, columns)) {
+        rows.write(w);
+        return w.finish();
+      }
+    });
+    log.debug("datagen: copied {} rows into {}", n, table);
+    return n == null ? 0 : n;
+  }
+
+  /** Splits [0, total) into threads * 4 ranges so fast and slow ranges even out. */
+  private List<Future<Long>> partition(ExecutorService pool, long total, RangeTask task) {
+    int parts = (int) Math.max(1, Math.min(total, settings.threads() * 4L));
+    List<Future<Long>> futures = new ArrayList<>(parts);
+    for (int p = 0; p < parts; p++) {
+      long from = total * p / parts;
+      long to = total * (p + 1) / parts;
+      futures.add(pool.submit(() -> task.load(from, to)));
+    }
+    return futures;
+  }
+
+  private static void await(List<Future<Long>> futures) throws Exception {
+    try {
+      for (Future<Long> f : futures) f.get();
+    } catch (ExecutionException e) {
+      futures.forEach(f -> f.cancel(true));
+      throw e.getCause() instanceof Exception ex ? ex : e;
+    }
+  }
+
+  /**
+   * First free user key: past every numeric external_id already in users (generated or
+   * registered, including runs that stopped before their completions were loaded) and
+   * every user_id in completions, so generated emails and external_ids never collide.
+   */
+  private long userBase() {
+    return Math.max(
+      maxOf("SELECT COALESCE(MAX(external_id::bigint), 0) FROM users WHERE external_id ~ '^[0-9]{1,18}$'"),
+      maxOf("SELECT COALESCE(MAX(user_id), 0) FROM completions"));
+  }
+
+  private long maxOf(String sql) {
+    Long v = jdbc.queryForObject(sql, Long.class);
+    return v == null ? 0 : v;
+  }
+
+  private static boolean contains(int[] values, int count, int value) {
+    for (int i = 0; i < count; i++) if (values[i] == value) return true;
+    return false;
+  }
+
+  private static Instant min(Instant a, Instant b) {
+    return a.isBefore(b) ? a : b;
+  }
+
+  private static String pick(SplittableRandom rng, String[] values) {
+    return values[rng.nextInt(values.length)];
+  }
+
+  private static String slug(String s) {
+    return s.toLowerCase().replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
+  }
+}
@@ -0,0 +1,116 @@
+package com.pathific.app.datagen;
+
+import java.util.SplittableRandom;
+
+/**
+ * The deterministic "skeleton" of a generated dataset: how many modules each court has,
+ * how many items each module has, and which courts are popular.
+ *
+ * Everything random is derived from (seed, stream, index), so a row comes out the same
+ * no matter which thread or partition generates it.
+ */
+final class DataShape {
+  static final long STREAM_COURTS = 1;
+  static final long STREAM_MODULES = 2;
+  static final long STREAM_ITEMS = 3;
+  static final long STREAM_USERS = 4;
+  static final long STREAM_COMPLETIONS = 5;
+  static final long STREAM_POPULARITY = 6;
+
+  private static final int MAX_MODULES_PER_COURT = 200;
+  private static final int MAX_ITEMS_PER_MODULE = 50;
+
+  final DataGenSettings settings;
+  final long courtBase;
+  final long moduleBase;
+  final long itemBase;
+  final long userBase;
+
+  /** moduleStart[c] = offset of court c's first module; moduleStart[courts] = total modules. */
+  final int[] moduleStart;
+  /** itemStart[m] = offset of module m's first item; itemStart[modules] = total items. */
+  final long[] itemStart;
+  /** Court indexes ordered from most to least popular. */
+  final int[] popularity;
+  /** Cumulative Zipf weights over popularity ranks. */
+  private final double[] popularityCdf;
+
+  DataShape(DataGenSettings settings, long courtBase, long moduleBase, long itemBase, long userBase) {
+    this.settings = settings;
+    this.courtBase = courtBase;
+    this.moduleBase = moduleBase;
+    this.itemBase = itemBase;
+    this.userBase = userBase;
+
+    int courts = settings.courts();
+    moduleStart = new int[courts + 1];
+    for (int c = 0; c < courts; c++) {
+      int n = logNormal(rng(STREAM_MODULES, c), settings.modulesPerCourt(), MAX_MODULES_PER_COURT);
+      moduleStart[c + 1] = Math.addExact(moduleStart[c], n);
+    }
+
+    int modules = moduleStart[courts];
+    itemStart = new long[modules + 1];
+    for (int m = 0; m < modules; m++) {
+      itemStart[m + 1] = itemStart[m] + logNormal(rng(STREAM_ITEMS, m), settings.itemsPerModule(), MAX_ITEMS_PER_MODULE);
+    }
+
+    // Shuffle so popularity is not correlated with court id
+    popularity = new int[courts];
+    for (int c = 0; c < courts; c++) popularity[c] = c;
+    SplittableRandom shuffle = rng(STREAM_POPULARITY, 0);
+    for (int i = courts - 1; i > 0; i--) {
+      int j = shuffle.nextInt(i + 1);
+      int tmp = popularity[i]; popularity[i] = popularity[j]; popularity[j] = tmp;
+    }
+
+    popularityCdf = new double[courts];
+    double total = 0;
+    for (int r = 0; r < courts; r++) {
+      total += 1.0 / Math.pow(r + 1, settings.popularitySkew());
+      popularityCdf[r] = total;
+    }
+    for (int r = 0; r < courts; r++) popularityCdf[r] /= total;
+  }
+
+  int courts() { return settings.courts(); }
+  int modules() { return moduleStart[courts()]; }
+  long items() { return itemStart[modules()]; }
+
+  int modulesIn(int court) { return moduleStart[court + 1] - moduleStart[court]; }
+  int itemsIn(int module) { return (int) (itemStart[module + 1] - itemStart[module]); }
+
+  long courtId(int court) { return courtBase + court + 1; }
+  long moduleId(int module) { return moduleBase + module + 1; }
+  long itemId(int module, int position) { return itemBase + itemStart[module] + position + 1; }
+  long userKey(long user) { return userBase + user + 1; }
+
+  /** Picks a court index, Zipf-weighted by popularity rank. */
+  int samplePopularCourt(SplittableRandom rng) {
+    double u = rng.nextDouble();
+    int lo = 0, hi = popularityCdf.length - 1;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (popularityCdf[mid] < u) lo = mid + 1; else hi = mid;
+    }
+    return popularity[lo];
+  }
+
+  SplittableRandom rng(long stream, long index) {
+    return new SplittableRandom(mix(mix(settings.seed() ^ stream * 0x9E3779B97F4A7C15L) + index));
+  }
+
+  /** Log-normal count with the given mean, clamped to [1, max]. */
+  private static int logNormal(SplittableRandom rng, double mean, int max) {
+    double sigma = 0.6;
+    double v = mean * Math.exp(sigma * rng.nextGaussian() - sigma * sigma / 2);
+    return (int) Math.max(1, Math.min(max, Math.round(v)));
+  }
+
+  /** SplitMix64 finalizer. */
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -1,5 +1,7 @@
 package com.pathific.app.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -7,6 +9,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "modules",
@@ -29,6 +32,16 @@ public class Module {
     @Column(name = "order_index", nullable = false)
     private Integer orderIndex;
 
+    /** User who created the module; makes them a curator of its court. Set from the caller, never from request JSON */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "curator_id", updatable = false)
+    private Long curatorId;
+
+    /** Bumped on every update; sent to clients as the ETag */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // MUST HAVE THIS CONSTRUCTOR - JPA needs it
     public Module() {}
 
@@ -55,4 +68,10 @@ public class Module {
 
     public Integer getOrderIndex() { return orderIndex; }
     public void setOrderIndex(Integer orderIndex) { this.orderIndex = orderIndex; }
+
+    public Long getCuratorId() { return curatorId; }
+    public void setCuratorId(Long curatorId) { this.curatorId = curatorId; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "module_items",
@@ -29,6 +30,11 @@ public class ModuleItem {
     @Column(nullable = false)
     private Integer position;
 
+    /** Bumped on every update; sent to clients as the ETag */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     /** Default constructor required by JPA */
     public ModuleItem() {}
 
@@ -56,4 +62,7 @@ public class ModuleItem {
 
     public Integer getPosition() { return position; }
     public void setPosition(Integer position) { this.position = position; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
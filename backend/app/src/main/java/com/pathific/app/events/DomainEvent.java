@@ -0,0 +1,18 @@
+package com.pathific.app.events;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/** Facts the write paths publish after they commit; consumed off the request thread. */
+public sealed interface DomainEvent {
+
+  /** @param curatorId creator of the module, or null if unknown */
+  record ModuleCreated(long moduleId, long courtId, Long curatorId) implements DomainEvent {}
+
+  /**
+   * A court was recorded in weekly_winners for the Monday-Sunday week starting weekStart.
+   * @param curatorIds every user who created a module in the court, as stored in modules
+   */
+  record WeeklyWinnerComputed(long courtId, LocalDate weekStart, LocalDate weekEnd, List<Long> curatorIds)
+      implements DomainEvent {}
+}
@@ -0,0 +1,99 @@
+package com.pathific.app.fanout;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.pathific.app.flight.RowTally;
+
+/**
+ * Runs independent sub-queries at the same time, one virtual thread each, so a page costs
+ * the slowest sub-query instead of their sum.
+ *
+ * Structured like StructuredTaskScope (still a preview API on Java 21): branches are forked
+ * inside a scope, join() waits for each one up to its own deadline, and nothing outlives
+ * the scope - close() cancels (interrupts) whatever is still running. A failed or late
+ * branch is reported in Results.errors() instead of failing the others. Rows a branch
+ * reads count towards the forking request's flight-recorder row total.
+ */
+@Component
+public class FanOut implements AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(FanOut.class);
+
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  public Scope open() {
+    return new Scope();
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  /** What a scope produced: values of the branches that made it, and why the others didn't. */
+  public record Results(Map<String, Object> values, Map<String, String> errors) {
+    public boolean partial() {
+      return !errors.isEmpty();
+    }
+
+    public boolean allFailed() {
+      return values.isEmpty() && !errors.isEmpty();
+    }
+  }
+
+  public final class Scope implements AutoCloseable {
+    private final List<Branch> branches = new ArrayList<>();
+    private boolean joined;
+
+    private record Branch(String name, Future<?> future, long deadlineNanos) {}
+
+    private Scope() {}
+
+    /** Starts a branch now; its timeout counts from this call. */
+    public Scope fork(String name, Duration timeout, Callable<?> task) {
+      if (joined) throw new IllegalStateException("scope already joined");
+      long deadline = System.nanoTime() + timeout.toNanos();
+      branches.add(new Branch(name, executor.submit(RowTally.sharedWithCaller(task)), deadline));
+      return this;
+    }
+
+    /** Waits for every branch up to its deadline, cancelling the ones that miss it. */
+    public Results join() throws InterruptedException {
+      joined = true;
+      Map<String, Object> values = new LinkedHashMap<>();
+      Map<String, String> errors = new LinkedHashMap<>();
+      for (Branch b : branches) {
+        try {
+          long remaining = b.deadlineNanos - System.nanoTime();
+          values.put(b.name, b.future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+          b.future.cancel(true);
+          errors.put(b.name, "timeout");
+        } catch (ExecutionException e) {
+          log.warn("fan-out branch '{}' failed", b.name, e.getCause());
+          errors.put(b.name, "failed");
+        }
+      }
+      return new Results(values, errors);
+    }
+
+    @Override
+    public void close() {
+      for (Branch b : branches) b.future.cancel(true);
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package com.pathific.app.flight;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pathific.Bcrypt")
+@Label("BCrypt")
+public class BcryptEvent extends FlightEvent {
+}
@@ -0,0 +1,38 @@
+package com.pathific.app.flight;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/** Emits a RequestEvent for every handler method in com.pathific.app.api. */
+final class ControllerRecorder implements HandlerInterceptor {
+  static final String API_PACKAGE = "com.pathific.app.api";
+  private static final String ATTRIBUTE = RequestEvent.class.getName();
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (handler instanceof HandlerMethod hm && hm.getBeanType().getPackageName().equals(API_PACKAGE)) {
+      RequestEvent event = new RequestEvent();
+      event.rowsAtStart = RowTally.total();
+      event.begin();
+      request.setAttribute(ATTRIBUTE, event);
+    }
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    if (!(request.getAttribute(ATTRIBUTE) instanceof RequestEvent event)) return;
+    event.end();
+    if (event.shouldCommit()) {
+      // The route pattern, not the raw path, so /api/modules/{courtId} aggregates
+      Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+      event.status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+      event.commit(request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI()),
+        RowTally.total() - event.rowsAtStart);
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.pathific.app.flight;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Always-on JDK Flight Recorder: a continuous ring-buffer recording plus the hooks that
+ * emit Pathific events for controllers and queries. BCrypt, JWT and payment call events
+ * are emitted at their call sites and cost nothing while no recording wants them.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.flight", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class FlightConfig {
+
+  @Bean(destroyMethod = "close")
+  public FlightRecording flightRecording(
+      @Value("${app.flight.settings}") String settings,
+      @Value("${app.flight.max-age}") Duration maxAge,
+      @Value("${app.flight.max-size}") DataSize maxSize
+  ) throws IOException, ParseException {
+    return new FlightRecording(settings, maxAge, maxSize.toBytes());
+  }
+
+  /** Static: post-processors are created before the rest of the configuration. */
+  @Bean
+  public static BeanPostProcessor queryRecordingPostProcessor() {
+    return new QueryRecordingPostProcessor();
+  }
+
+  @Bean
+  public WebMvcConfigurer controllerRecording() {
+    return new WebMvcConfigurer() {
+      @Override
+      public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ControllerRecorder()).addPathPatterns("/api/**");
+      }
+    };
+  }
+}
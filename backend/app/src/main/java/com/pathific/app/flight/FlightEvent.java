@@ -0,0 +1,35 @@
+package com.pathific.app.flight;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Common fields of the Pathific JFR events. Duration and thread come with every JFR event.
+ *
+ * Call sites use begin() / end() and fill in the fields only when shouldCommit() says
+ * the event is wanted, so a disabled or filtered event costs next to nothing.
+ * No stack traces: they are most of the cost of an event.
+ */
+@Category("Pathific")
+@StackTrace(false)
+public abstract class FlightEvent extends Event {
+
+  @Label("Endpoint")
+  public String endpoint;
+
+  @Label("Rows")
+  public long rows = -1;
+
+  @Label("Thread Type")
+  public String threadType;
+
+  /** Fills in the common fields and commits. Only call after end() and shouldCommit(). */
+  public void commit(String endpoint, long rows) {
+    this.endpoint = endpoint;
+    this.rows = rows;
+    this.threadType = Thread.currentThread().isVirtual() ? "virtual" : "platform";
+    commit();
+  }
+}
@@ -0,0 +1,75 @@
+package com.pathific.app.flight;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.management.jfr.FlightRecorderMXBean;
+
+/**
+ * The always-on recording: the chosen JDK settings (GC, locks, I/O...) plus every
+ * Pathific event, kept on disk as a ring buffer bounded by max age and max size.
+ */
+public class FlightRecording implements AutoCloseable {
+  private static final Logger log = LoggerFactory.getLogger(FlightRecording.class);
+
+  private final Recording recording;
+  private final Duration maxAge;
+
+  public FlightRecording(String settings, Duration maxAge, long maxSizeBytes) throws IOException, ParseException {
+    this.maxAge = maxAge;
+    recording = new Recording(Configuration.getConfiguration(settings));
+    recording.setName("pathific-continuous");
+    recording.setToDisk(true);
+    recording.setMaxAge(maxAge);
+    recording.setMaxSize(maxSizeBytes);
+    // By class: enable(String) wants the @Name (pathific.Query), not the class name
+    for (Class<? extends Event> type : List.of(
+        RequestEvent.class, QueryEvent.class, BcryptEvent.class, JwtParseEvent.class, PaymentCallEvent.class)) {
+      recording.enable(type).withoutThreshold();
+    }
+    recording.start();
+    log.info("flight recorder: continuous recording started ({} settings, last {} / {} MB kept)",
+      settings, maxAge, maxSizeBytes >> 20);
+  }
+
+  public Duration maxAge() {
+    return maxAge;
+  }
+
+  /**
+   * Writes a .jfr file with (at least) the last {@code last} of the recording. JFR stores
+   * data in chunks, so the file may start a little earlier than asked.
+   */
+  public void dump(Duration last, OutputStream out) throws IOException {
+    FlightRecorderMXBean jfr = ManagementFactory.getPlatformMXBean(FlightRecorderMXBean.class);
+    long snapshot = jfr.takeSnapshot();
+    try {
+      long stream = jfr.openStream(snapshot, Map.of("startTime", Instant.now().minus(last).toString()));
+      try {
+        byte[] block;
+        while ((block = jfr.readStream(stream)) != null) out.write(block);
+      } finally {
+        jfr.closeStream(stream);
+      }
+    } finally {
+      jfr.closeRecording(snapshot);
+    }
+  }
+
+  @Override
+  public void close() {
+    recording.close();
+  }
+}
@@ -0,0 +1,12 @@
+package com.pathific.app.flight;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pathific.JwtParse")
+@Label("JWT Parse")
+public class JwtParseEvent extends FlightEvent {
+
+  @Label("Valid")
+  public boolean valid;
+}
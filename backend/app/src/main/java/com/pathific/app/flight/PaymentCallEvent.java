@@ -0,0 +1,12 @@
+package com.pathific.app.flight;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pathific.PaymentCall")
+@Label("Payment Provider Call")
+public class PaymentCallEvent extends FlightEvent {
+
+  @Label("Status")
+  public int status;
+}
@@ -0,0 +1,31 @@
+package com.pathific.app.flight;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/** RestTemplate interceptor that emits a PaymentCallEvent per outbound call (status -1 on I/O failure). */
+public class PaymentCallRecorder implements ClientHttpRequestInterceptor {
+
+  @Override
+  public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+      throws IOException {
+    PaymentCallEvent event = new PaymentCallEvent();
+    event.begin();
+    int status = -1;
+    try {
+      ClientHttpResponse response = execution.execute(request, body);
+      status = response.getStatusCode().value();
+      return response;
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.status = status;
+        event.commit(request.getMethod() + " " + request.getURI().getHost() + request.getURI().getPath(), -1);
+      }
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package com.pathific.app.flight;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pathific.Query")
+@Label("Query")
+@Description("A repository or JdbcTemplate call; rows = rows returned or updated, -1 if unknown")
+public class QueryEvent extends FlightEvent {
+}
@@ -0,0 +1,91 @@
+package com.pathific.app.flight;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/** Emits a QueryEvent around each data-access call on a repository or JdbcTemplate. */
+final class QueryRecorder implements MethodInterceptor {
+  private static final String SKIP = "";
+
+  private final String owner;
+  private final boolean queryMethodsOnly;
+  private final Map<Method, String> endpoints = new ConcurrentHashMap<>();
+
+  /**
+   * @param owner            name recorded in front of the method, e.g. "ModuleRepository"
+   * @param queryMethodsOnly only record query / update / batchUpdate / execute / call
+   *                         (for JdbcTemplate, whose getters and setters are not queries)
+   */
+  QueryRecorder(String owner, boolean queryMethodsOnly) {
+    this.owner = owner;
+    this.queryMethodsOnly = queryMethodsOnly;
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    String endpoint = endpoints.computeIfAbsent(invocation.getMethod(), this::endpointOf);
+    if (endpoint == SKIP) return invocation.proceed();
+
+    QueryEvent event = new QueryEvent();
+    event.begin();
+    boolean outermost = RowTally.enter();
+    long rows = -1;
+    try {
+      Object result = invocation.proceed();
+      rows = rowsOf(invocation.getMethod().getName(), result);
+      return result;
+    } finally {
+      RowTally.exit(outermost, rows);
+      event.end();
+      if (event.shouldCommit()) event.commit(endpoint, rows);
+    }
+  }
+
+  private String endpointOf(Method method) {
+    if (method.getDeclaringClass() == Object.class) return SKIP;
+    String name = method.getName();
+    if (queryMethodsOnly && !(name.startsWith("query") || name.equals("update") || name.equals("batchUpdate")
+        || name.equals("execute") || name.equals("call"))) {
+      return SKIP;
+    }
+    return owner + "." + name;
+  }
+
+  /**
+   * Row count for a data-access result. Only update / batchUpdate return update counts;
+   * for queries a scalar (queryForObject(..., Integer.class) included) is one row.
+   * -1 when the shape doesn't say (streams, callbacks, unknown counts).
+   */
+  static long rowsOf(String method, Object result) {
+    if (method.equals("update") || method.equals("batchUpdate")) return updateCount(result);
+    if (result == null) return 0;
+    if (result instanceof Collection<?> c) return c.size();
+    if (result instanceof Optional<?> o) return o.isPresent() ? 1 : 0;
+    if (result instanceof Iterable<?> || result instanceof java.util.stream.BaseStream<?, ?>) return -1;
+    return 1;
+  }
+
+  private static long updateCount(Object result) {
+    if (result instanceof Integer n) return n;
+    if (result instanceof int[] counts) return sum(counts);
+    if (result instanceof int[][] batches) {
+      long sum = 0;
+      for (int[] counts : batches) sum += sum(counts);
+      return sum;
+    }
+    return -1;
+  }
+
+  // SUCCESS_NO_INFO (-2) and EXECUTE_FAILED (-3) add nothing
+  private static long sum(int[] counts) {
+    long sum = 0;
+    for (int n : counts) sum += Math.max(0, n);
+    return sum;
+  }
+}
@@ -0,0 +1,38 @@
+package com.pathific.app.flight;
+
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Adds a QueryRecorder to every Spring Data repository (they are proxies already, so
+ * it's one more advice) and wraps JdbcTemplate, which also covers the JdbcTemplate-based
+ * @Repository classes.
+ */
+final class QueryRecordingPostProcessor implements BeanPostProcessor {
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (bean instanceof JdbcTemplate) {
+      ProxyFactory proxy = new ProxyFactory(bean);
+      proxy.setProxyTargetClass(true);
+      proxy.addAdvice(new QueryRecorder("JdbcTemplate", true));
+      return proxy.getProxy();
+    }
+    if (bean instanceof Repository<?, ?> && bean instanceof Advised advised && !advised.isFrozen()) {
+      advised.addAdvice(0, new QueryRecorder(repositoryName(advised, beanName), false));
+    }
+    return bean;
+  }
+
+  private static String repositoryName(Advised advised, String beanName) {
+    for (Class<?> type : advised.getProxiedInterfaces()) {
+      if (Repository.class.isAssignableFrom(type) && type.getName().startsWith("com.pathific.")) {
+        return type.getSimpleName();
+      }
+    }
+    return beanName;
+  }
+}
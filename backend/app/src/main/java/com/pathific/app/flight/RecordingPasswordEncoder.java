@@ -0,0 +1,41 @@
+package com.pathific.app.flight;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/** Emits a BcryptEvent for every hash and check done by the wrapped encoder. */
+public class RecordingPasswordEncoder implements PasswordEncoder {
+  private final PasswordEncoder delegate;
+
+  public RecordingPasswordEncoder(PasswordEncoder delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    BcryptEvent event = new BcryptEvent();
+    event.begin();
+    try {
+      return delegate.encode(rawPassword);
+    } finally {
+      event.end();
+      if (event.shouldCommit()) event.commit("encode", -1);
+    }
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    BcryptEvent event = new BcryptEvent();
+    event.begin();
+    try {
+      return delegate.matches(rawPassword, encodedPassword);
+    } finally {
+      event.end();
+      if (event.shouldCommit()) event.commit("matches", -1);
+    }
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+}
@@ -0,0 +1,17 @@
+package com.pathific.app.flight;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pathific.Request")
+@Label("Controller Invocation")
+@Description("A request handled by a controller in com.pathific.app.api; rows = rows read by its queries")
+public class RequestEvent extends FlightEvent {
+
+  @Label("Status")
+  public int status;
+
+  // Not recorded (JFR skips transient fields)
+  transient long rowsAtStart;
+}
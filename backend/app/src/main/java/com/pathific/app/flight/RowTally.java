@@ -0,0 +1,55 @@
+package com.pathific.app.flight;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rows read by queries on the current thread, so a RequestEvent can report the rows
+ * behind a request. Only the outermost recorded call counts (a repository method that
+ * goes through JdbcTemplate is not counted twice).
+ *
+ * Work a request hands to other threads (FanOut branches) is wrapped with
+ * sharedWithCaller(), so its rows land in the request thread's total. A branch still
+ * running after its request completed (cancelled on timeout) may add a few rows late.
+ */
+public final class RowTally {
+  private static final class Tally {
+    int depth;
+    // Swapped for the caller's total while a sharedWithCaller() task runs
+    AtomicLong rows = new AtomicLong();
+  }
+
+  private static final ThreadLocal<Tally> TALLY = ThreadLocal.withInitial(Tally::new);
+
+  private RowTally() {}
+
+  /** Returns true if this is the outermost recorded call on the thread. */
+  static boolean enter() {
+    return ++TALLY.get().depth == 1;
+  }
+
+  static void exit(boolean outermost, long rows) {
+    Tally t = TALLY.get();
+    t.depth--;
+    if (outermost && rows > 0) t.rows.addAndGet(rows);
+  }
+
+  static long total() {
+    return TALLY.get().rows.get();
+  }
+
+  /** Wraps a task for another thread so the rows it reads count towards the calling thread's total. */
+  public static <T> Callable<T> sharedWithCaller(Callable<T> task) {
+    AtomicLong callers = TALLY.get().rows;
+    return () -> {
+      Tally t = TALLY.get();
+      AtomicLong own = t.rows;
+      t.rows = callers;
+      try {
+        return task.call();
+      } finally {
+        t.rows = own;
+      }
+    };
+  }
+}
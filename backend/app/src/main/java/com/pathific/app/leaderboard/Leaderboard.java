@@ -0,0 +1,135 @@
+package com.pathific.app.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Learners ranked by score (completions), highest first, ties broken by user id.
+ * Ranks are competition ranks: users on the same score share a rank.
+ *
+ *  - ScoreCounts answers "how many users are ahead of score s" in O(log maxScore)
+ *  - buckets (score -> user ids, both skip lists) give ordered walks for top-N and
+ *    around-me windows in O(log n + window)
+ *
+ * Writers serialize per user only; readers never lock. A reader can briefly see a
+ * user in both their old and new bucket, so walks check the user's current score.
+ */
+public class Leaderboard {
+  private final Map<Long, Entry> users = new ConcurrentHashMap<>();
+  private final ConcurrentSkipListMap<Integer, NavigableSet<Long>> buckets = new ConcurrentSkipListMap<>();
+  private final ScoreCounts counts = new ScoreCounts(64);
+
+  private static final class Entry {
+    volatile int score;
+  }
+
+  /** Adds delta (may be negative) to the user's score; returns the new score. */
+  public int add(long userId, int delta) {
+    Entry e = users.computeIfAbsent(userId, id -> new Entry());
+    synchronized (e) {
+      int old = e.score;
+      int next = Math.max(0, old + delta);
+      if (next == old) return old;
+      // Enter the new bucket before leaving the old one so the user never disappears
+      if (next > 0) {
+        bucket(next).add(userId);
+        counts.add(next, 1);
+      }
+      e.score = next;
+      if (old > 0) {
+        counts.add(old, -1);
+        NavigableSet<Long> previous = buckets.get(old);
+        if (previous != null) previous.remove(userId);
+      }
+      return next;
+    }
+  }
+
+  /** Users with a score above zero. */
+  public long size() {
+    return counts.total();
+  }
+
+  public int scoreOf(long userId) {
+    Entry e = users.get(userId);
+    return e == null ? 0 : e.score;
+  }
+
+  /** Rank of the user, or null if they have no score yet. */
+  public Standing standingOf(long userId) {
+    int score = scoreOf(userId);
+    return score == 0 ? null : new Standing(userId, score, counts.countAbove(score) + 1);
+  }
+
+  public List<Standing> top(int limit) {
+    List<Standing> out = new ArrayList<>(limit);
+    for (Map.Entry<Integer, NavigableSet<Long>> b : buckets.descendingMap().entrySet()) {
+      int score = b.getKey();
+      long rank = -1;
+      for (Long userId : b.getValue()) {
+        if (out.size() == limit) return out;
+        if (scoreOf(userId) != score) continue;
+        if (rank < 0) rank = counts.countAbove(score) + 1;
+        out.add(new Standing(userId, score, rank));
+      }
+      if (out.size() == limit) return out;
+    }
+    return out;
+  }
+
+  /**
+   * The user plus up to `window` learners directly above and below them.
+   * Empty if the user has no score.
+   */
+  public List<Standing> around(long userId, int window) {
+    int score = scoreOf(userId);
+    if (score == 0) return List.of();
+
+    List<Standing> above = new ArrayList<>(window);
+    walk(bucketOrEmpty(score).headSet(userId, false).descendingIterator(), score, above, window);
+    for (Map.Entry<Integer, NavigableSet<Long>> b : buckets.tailMap(score, false).entrySet()) {
+      if (above.size() == window) break;
+      walk(b.getValue().descendingIterator(), b.getKey(), above, window);
+    }
+    Collections.reverse(above);
+
+    List<Standing> out = new ArrayList<>(window * 2 + 1);
+    out.addAll(above);
+    out.add(new Standing(userId, score, counts.countAbove(score) + 1));
+
+    List<Standing> below = new ArrayList<>(window);
+    walk(bucketOrEmpty(score).tailSet(userId, false).iterator(), score, below, window);
+    for (Map.Entry<Integer, NavigableSet<Long>> b : buckets.headMap(score, false).descendingMap().entrySet()) {
+      if (below.size() == window) break;
+      walk(b.getValue().iterator(), b.getKey(), below, window);
+    }
+    out.addAll(below);
+    return out;
+  }
+
+  private void walk(Iterator<Long> ids, int score, List<Standing> out, int limit) {
+    long rank = -1;
+    while (ids.hasNext() && out.size() < limit) {
+      long id = ids.next();
+      if (scoreOf(id) != score) continue;
+      if (rank < 0) rank = counts.countAbove(score) + 1;
+      out.add(new Standing(id, score, rank));
+    }
+  }
+
+  private NavigableSet<Long> bucket(int score) {
+    return buckets.computeIfAbsent(score, s -> new ConcurrentSkipListSet<>());
+  }
+
+  private NavigableSet<Long> bucketOrEmpty(int score) {
+    NavigableSet<Long> b = buckets.get(score);
+    return b == null ? Collections.emptyNavigableSet() : b;
+  }
+}
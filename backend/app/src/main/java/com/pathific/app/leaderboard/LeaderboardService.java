@@ -0,0 +1,167 @@
+package com.pathific.app.leaderboard;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.pathific.app.repository.CompletionStream;
+import com.pathific.app.repository.ModuleCourtLookup;
+
+/**
+ * Global and per-court learner leaderboards, held in memory.
+ * Built from the completions table at startup, then updated by CompletionController.
+ *
+ * Deleting a module (or court) cascades to its completions without telling us, so scores
+ * can drift upwards; a periodic rebuild from the table brings them back in line.
+ */
+@Service
+public class LeaderboardService {
+  private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+  private static final Leaderboard EMPTY = new Leaderboard();
+
+  private static final class Boards {
+    final Leaderboard global = new Leaderboard();
+    final Map<Long, Leaderboard> courts = new ConcurrentHashMap<>();
+
+    void apply(long userId, Long courtId) {
+      global.add(userId, 1);
+      if (courtId != null) {
+        courts.computeIfAbsent(courtId, id -> new Leaderboard()).add(userId, 1);
+      }
+    }
+  }
+
+  private final CompletionStream completions;
+  private final ModuleCourtLookup modules;
+  private final boolean warmOnStartup;
+  private volatile Boards boards = new Boards();
+
+  // While a scan builds the next boards, live completions are applied to the current ones
+  // and also parked here (by completion id), so the next boards count each exactly once.
+  private final Object scanLock = new Object();
+  private Map<Long, long[]> pending;
+  private volatile long minPendingId = Long.MAX_VALUE;
+  private volatile boolean scanning;
+  private long lastScannedId; // guarded by scanLock
+  private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+  public LeaderboardService(
+      CompletionStream completions,
+      ModuleCourtLookup modules,
+      @Value("${app.leaderboard.warm-on-startup}") boolean warmOnStartup
+  ) {
+    this.completions = completions;
+    this.modules = modules;
+    this.warmOnStartup = warmOnStartup;
+    if (warmOnStartup) {
+      // Park from the start: requests can arrive before ApplicationReadyEvent
+      pending = new HashMap<>();
+      scanning = true;
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warm() {
+    if (!warmOnStartup) return;
+    Thread.ofPlatform().daemon().name("leaderboard-warmup").start(this::rebuild);
+  }
+
+  /** Rebuilds every board from the completions table; the current boards serve meanwhile. */
+  @Scheduled(fixedDelayString = "${app.leaderboard.rebuild-interval-ms}",
+             initialDelayString = "${app.leaderboard.rebuild-interval-ms}")
+  public void rebuild() {
+    if (!rebuilding.compareAndSet(false, true)) return;
+    synchronized (scanLock) {
+      // Already set up (and possibly holding parked completions) for the startup scan
+      if (pending == null) pending = new HashMap<>();
+      scanning = true;
+    }
+    long started = System.currentTimeMillis();
+    Boards next = new Boards();
+    long[] maxId = {0};
+    boolean complete = false;
+    try {
+      long rows = completions.forEach((id, userId, moduleId, courtId) -> {
+        maxId[0] = id;
+        modules.remember(moduleId, courtId);
+        if (id >= minPendingId) dropPending(id);
+        next.apply(userId, courtId);
+      });
+      complete = true;
+      log.info("leaderboard: built from {} completions ({} learners, {} courts) in {} ms",
+        rows, next.global.size(), next.courts.size(), System.currentTimeMillis() - started);
+    } catch (RuntimeException e) {
+      log.error("leaderboard: rebuild failed, keeping the current boards", e);
+    } finally {
+      synchronized (scanLock) {
+        if (complete) {
+          for (long[] c : pending.values()) next.apply(c[0], modules.courtOf(c[1]));
+          boards = next;
+          lastScannedId = maxId[0];
+        }
+        pending = null;
+        minPendingId = Long.MAX_VALUE;
+        scanning = false;
+      }
+      rebuilding.set(false);
+    }
+  }
+
+  /** Called after a new completion row is committed. */
+  public void onCompletion(long completionId, long userId, long moduleId) {
+    Long courtId = modules.courtOf(moduleId);
+    // Boards before the scanning flag: boards read before a swap are either discarded
+    // (the scan saw this committed row) or, with the flag seen, paired with a parked copy
+    Boards current = boards;
+    if (scanning) {
+      synchronized (scanLock) {
+        if (pending != null) {
+          pending.put(completionId, new long[] {userId, moduleId});
+          minPendingId = Math.min(minPendingId, completionId);
+          boards.apply(userId, courtId);
+        } else if (completionId > lastScannedId) {
+          // The scan finished (and swapped boards) while we waited, without this row
+          boards.apply(userId, courtId);
+        }
+      }
+      return;
+    }
+    current.apply(userId, courtId);
+  }
+
+  /** Global board when courtId is null. */
+  public Leaderboard board(Long courtId) {
+    Boards b = boards;
+    if (courtId == null) return b.global;
+    return b.courts.getOrDefault(courtId, EMPTY);
+  }
+
+  public List<Standing> top(Long courtId, int limit) {
+    return board(courtId).top(limit);
+  }
+
+  public Standing standingOf(Long courtId, long userId) {
+    return board(courtId).standingOf(userId);
+  }
+
+  public List<Standing> around(Long courtId, long userId, int window) {
+    return board(courtId).around(userId, window);
+  }
+
+  /** The scan returned a completion that was also parked live; the scan counts it. */
+  private void dropPending(long completionId) {
+    synchronized (scanLock) {
+      pending.remove(completionId);
+    }
+  }
+}
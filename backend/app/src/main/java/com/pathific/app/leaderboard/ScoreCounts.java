@@ -0,0 +1,71 @@
+package com.pathific.app.leaderboard;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Fenwick (binary indexed) tree over scores: how many users hold each score.
+ * Answers "how many users score above s" in O(log maxScore).
+ *
+ * Cells are atomics so concurrent updates never lock each other out; the
+ * read/write lock only fences the rare resize. Queries take no lock at all and
+ * may observe an update half-applied, which is fine for a leaderboard.
+ */
+final class ScoreCounts {
+  private final ReentrantReadWriteLock resize = new ReentrantReadWriteLock();
+  private volatile AtomicLongArray tree;
+
+  ScoreCounts(int initialMaxScore) {
+    tree = new AtomicLongArray(Integer.highestOneBit(Math.max(16, initialMaxScore)) << 1);
+  }
+
+  /** Adds delta users at score (score >= 1). */
+  void add(int score, long delta) {
+    if (score < 1) throw new IllegalArgumentException("score must be >= 1");
+    if (score >= tree.length()) grow(score);
+    resize.readLock().lock();
+    try {
+      AtomicLongArray t = tree;
+      for (int i = score; i < t.length(); i += i & -i) t.addAndGet(i, delta);
+    } finally {
+      resize.readLock().unlock();
+    }
+  }
+
+  /** Users with score >= 1. */
+  long total() {
+    AtomicLongArray t = tree;
+    return prefix(t, t.length() - 1);
+  }
+
+  /** Users with a score strictly greater than score. */
+  long countAbove(int score) {
+    AtomicLongArray t = tree;
+    if (score >= t.length() - 1) return 0;
+    return prefix(t, t.length() - 1) - prefix(t, Math.max(0, score));
+  }
+
+  private static long prefix(AtomicLongArray t, int score) {
+    long sum = 0;
+    for (int i = score; i > 0; i -= i & -i) sum += t.get(i);
+    return sum;
+  }
+
+  private void grow(int score) {
+    resize.writeLock().lock();
+    try {
+      AtomicLongArray old = tree;
+      if (score < old.length()) return;
+      AtomicLongArray next = new AtomicLongArray(Integer.highestOneBit(score) << 2);
+      // Recover per-score counts, then rebuild: node ranges differ once the size changes
+      for (int i = 1; i < old.length(); i++) {
+        long point = prefix(old, i) - prefix(old, i - 1);
+        if (point == 0) continue;
+        for (int j = i; j < next.length(); j += j & -j) next.addAndGet(j, point);
+      }
+      tree = next;
+    } finally {
+      resize.writeLock().unlock();
+    }
+  }
+}
@@ -0,0 +1,4 @@
+package com.pathific.app.leaderboard;
+
+/** A learner's place on a leaderboard: score = completed modules, rank is 1-based. */
+public record Standing(long userId, int score, long rank) {}
@@ -0,0 +1,95 @@
+package com.pathific.app.limiter;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.sql.SQLTransientException;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.pathific.app.security.CorsHeaders;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Sheds load before it reaches a Tomcat thread's worth of work: each endpoint class has
+ * its own GradientLimiter, and requests over the current limit get an immediate 503
+ * with Retry-After instead of queueing on the Hikari pool.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+  private static final String BUSY_BODY = "{\"ok\":false,\"error\":\"Server busy, please retry shortly\"}";
+
+  private final Map<EndpointClass, GradientLimiter> limiters;
+  private final Set<String> criticalPaths;
+  private final String retryAfter;
+  private final CorsConfigurationSource cors;
+
+  public ConcurrencyLimitFilter(Map<EndpointClass, GradientLimiter> limiters, Set<String> criticalPaths, int retryAfterSeconds,
+                                CorsConfigurationSource cors) {
+    this.limiters = limiters;
+    this.criticalPaths = criticalPaths;
+    this.retryAfter = String.valueOf(retryAfterSeconds);
+    this.cors = cors;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    GradientLimiter limiter = limiters.get(EndpointClass.of(path));
+    if (limiter == null || "OPTIONS".equals(request.getMethod())) {
+      chain.doFilter(request, response);
+      return;
+    }
+
+    if (!limiter.tryAcquire(criticalPaths.contains(path))) {
+      // We run before the security chain's CorsFilter: add its headers so browsers can read this
+      CorsHeaders.apply(cors, request, response);
+      response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+      response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+      response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+      response.getWriter().write(BUSY_BODY);
+      return;
+    }
+
+    long started = System.nanoTime();
+    boolean dropped = false;
+    try {
+      chain.doFilter(request, response);
+      int status = response.getStatus();
+      dropped = status == 503 || status == 504;
+    } catch (IOException | ServletException | RuntimeException e) {
+      dropped = isOverload(e);
+      throw e;
+    } finally {
+      limiter.release(System.nanoTime() - started, dropped);
+    }
+  }
+
+  /**
+   * Only failures that mean "a dependency is saturated" shrink the limit; a 500 from a
+   * bad request body must not let a client talk the limit down.
+   */
+  static boolean isOverload(Throwable e) {
+    for (Throwable t = e; t != null; t = t.getCause()) {
+      if (t instanceof TransientDataAccessException
+          || t instanceof DataAccessResourceFailureException
+          || t instanceof SQLTransientException
+          || t instanceof SocketTimeoutException) {
+        return true;
+      }
+      if (t.getCause() == t) break;
+    }
+    return false;
+  }
+}
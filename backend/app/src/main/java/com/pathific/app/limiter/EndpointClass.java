@@ -0,0 +1,28 @@
+package com.pathific.app.limiter;
+
+/** Groups of endpoints that share one adaptive concurrency limit. */
+public enum EndpointClass {
+  CATALOG,
+  AUTH,
+  COMPLETIONS,
+  PAYMENTS,
+  /** Not limited: actuator, /api/me, anything unknown. */
+  UNLIMITED;
+
+  public static EndpointClass of(String path) {
+    if (path.startsWith("/api/auth/")) return AUTH;
+    if (path.startsWith("/api/completions")) return COMPLETIONS;
+    if (path.startsWith("/api/payments/")) return PAYMENTS;
+    if (path.startsWith("/api/courts")
+        || path.startsWith("/api/modules")
+        || path.startsWith("/api/module-items")
+        || path.startsWith("/api/learnmore")
+        || path.startsWith("/api/recommendations")
+        || path.startsWith("/api/leaderboard")
+        || path.startsWith("/api/home")
+        || path.startsWith("/api/badges")) {
+      return CATALOG;
+    }
+    return UNLIMITED;
+  }
+}
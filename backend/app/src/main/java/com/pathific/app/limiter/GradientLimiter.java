@@ -0,0 +1,103 @@
+package com.pathific.app.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive in-flight limit driven by measured latency (a "gradient" limiter).
+ *
+ * Keeps a slow-moving average of uncongested latency as the no-queueing baseline and
+ * compares every new sample against it:
+ *   gradient = clamp(tolerance * baseline / sample, 0.5, 1.0)
+ *   limit    = limit * gradient + sqrt(limit)
+ * so the limit creeps up while latency holds and shrinks as soon as requests start
+ * queueing (e.g. waiting for a Hikari connection). Failed requests (5xx) count as
+ * drops and cut the limit multiplicatively.
+ *
+ * Samples within the tolerance move the baseline over BASELINE_WINDOW samples. Congested
+ * samples only let it drift up over DRIFT_WINDOW, so a lasting shift (bigger data, slower
+ * disk) is accepted after many thousands of samples. A sustained slowdown therefore keeps
+ * the limit down instead of becoming the new baseline within a few dozen samples.
+ *
+ * acquire/release are a CAS on the in-flight counter; limit updates use tryLock and
+ * simply skip a sample if another thread is already updating.
+ */
+public class GradientLimiter {
+  private static final double TOLERANCE = 1.5;
+  private static final double SMOOTHING = 0.2;
+  private static final double DROP_BACKOFF = 0.9;
+  private static final int BASELINE_WINDOW = 600;
+  private static final int DRIFT_WINDOW = 20_000;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double criticalHeadroom;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final ReentrantLock update = new ReentrantLock();
+
+  private volatile double limit;
+  private double baselineNanos; // guarded by update
+
+  /**
+   * @param criticalHeadroom extra fraction of the limit that critical requests may use,
+   *                         so they still get through when normal traffic is shed
+   */
+  public GradientLimiter(int initialLimit, int minLimit, int maxLimit, double criticalHeadroom) {
+    if (minLimit < 1 || maxLimit < minLimit) {
+      throw new IllegalArgumentException("need 1 <= minLimit <= maxLimit");
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.criticalHeadroom = criticalHeadroom;
+    this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+  }
+
+  /** Returns false if the request should be shed. Every true must be paired with release(). */
+  public boolean tryAcquire(boolean critical) {
+    int cap = (int) (critical ? limit * (1 + criticalHeadroom) : limit);
+    while (true) {
+      int current = inFlight.get();
+      if (current >= Math.max(1, cap)) return false;
+      if (inFlight.compareAndSet(current, current + 1)) return true;
+    }
+  }
+
+  /**
+   * @param rttNanos how long the request held its slot
+   * @param dropped  true if the request failed in a way that signals overload
+   */
+  public void release(long rttNanos, boolean dropped) {
+    int inFlightAtEnd = inFlight.getAndDecrement();
+    if (!update.tryLock()) return;
+    try {
+      double current = limit;
+      double next;
+      if (dropped) {
+        next = current * DROP_BACKOFF;
+      } else {
+        if (baselineNanos == 0) {
+          baselineNanos = rttNanos;
+        } else {
+          boolean congested = rttNanos > TOLERANCE * baselineNanos;
+          baselineNanos += (rttNanos - baselineNanos) / (congested ? DRIFT_WINDOW : BASELINE_WINDOW);
+        }
+        // Don't grow on samples taken while we weren't using the limit anyway
+        if (inFlightAtEnd < current / 2) return;
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * baselineNanos / Math.max(1, rttNanos)));
+        double target = current * gradient + Math.sqrt(current);
+        next = current * (1 - SMOOTHING) + target * SMOOTHING;
+      }
+      limit = Math.max(minLimit, Math.min(maxLimit, next));
+    } finally {
+      update.unlock();
+    }
+  }
+
+  public int limit() {
+    return (int) limit;
+  }
+
+  public int inFlight() {
+    return inFlight.get();
+  }
+}
@@ -0,0 +1,51 @@
+package com.pathific.app.limiter;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.cors.CorsConfigurationSource;
+
+@Configuration
+@EnableConfigurationProperties(LimiterProperties.class)
+public class LimiterConfig {
+
+  /**
+   * Order of the limiter among servlet filters: ahead of Spring Security, so shed requests cost nothing.
+   * Filters here write their own CORS headers (CorsHeaders), since the security CorsFilter hasn't run.
+   */
+  public static final int FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 20;
+
+  /**
+   * One adaptive limiter per endpoint class from app.limiter.classes.
+   * Classes without bounds (and UNLIMITED) pass straight through.
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "app.limiter", name = "enabled", havingValue = "true", matchIfMissing = true)
+  public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(LimiterProperties props,
+                                                                               @Qualifier("corsConfigurationSource") CorsConfigurationSource cors) {
+    Map<EndpointClass, GradientLimiter> limiters = new EnumMap<>(EndpointClass.class);
+    if (props.classes() != null) {
+      props.classes().forEach((cls, b) -> {
+        if (cls != EndpointClass.UNLIMITED) {
+          limiters.put(cls, new GradientLimiter(b.initial(), b.min(), b.max(), props.criticalHeadroom()));
+        }
+      });
+    }
+    List<String> critical = props.criticalPaths() == null ? List.of() : props.criticalPaths();
+
+    FilterRegistrationBean<ConcurrencyLimitFilter> reg = new FilterRegistrationBean<>(
+      new ConcurrencyLimitFilter(limiters, new HashSet<>(critical), props.retryAfterSeconds(), cors));
+    reg.addUrlPatterns("/api/*");
+    reg.setOrder(FILTER_ORDER);
+    return reg;
+  }
+}
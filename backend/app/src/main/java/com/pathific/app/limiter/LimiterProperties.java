@@ -0,0 +1,26 @@
+package com.pathific.app.limiter;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * app.limiter.* from application.yaml.
+ *
+ * @param enabled            turn the filter off entirely
+ * @param retryAfterSeconds  value of the Retry-After header on shed requests
+ * @param criticalPaths      paths allowed to use the critical headroom (exact match)
+ * @param criticalHeadroom   extra fraction of a class's limit reserved for critical paths
+ * @param classes            per endpoint class limit bounds
+ */
+@ConfigurationProperties(prefix = "app.limiter")
+public record LimiterProperties(
+    boolean enabled,
+    int retryAfterSeconds,
+    List<String> criticalPaths,
+    double criticalHeadroom,
+    Map<EndpointClass, Bounds> classes
+) {
+  public record Bounds(int initial, int min, int max) {}
+}
@@ -0,0 +1,36 @@
+package com.pathific.app.ratelimit;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.cors.CorsConfigurationSource;
+
+import com.pathific.app.limiter.LimiterConfig;
+import com.pathific.app.security.JwtService;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "app.ratelimit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+  @Bean
+  public RateLimiter rateLimiter(RateLimitProperties props) {
+    TokenBucketTable buckets = new TokenBucketTable(props.maxKeys(), props.idleEvictAfter().toNanos());
+    return new RateLimiter(buckets, props.routes() == null ? List.of() : props.routes());
+  }
+
+  /** Runs just before the concurrency limiter: a throttled client should not take an in-flight slot. */
+  @Bean
+  public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiter limiter, JwtService jwt,
+                                                         @Qualifier("corsConfigurationSource") CorsConfigurationSource cors) {
+    FilterRegistrationBean<RateLimitFilter> reg = new FilterRegistrationBean<>(new RateLimitFilter(limiter, jwt, cors));
+    reg.addUrlPatterns("/api/*");
+    reg.setOrder(LimiterConfig.FILTER_ORDER - 10);
+    return reg;
+  }
+}
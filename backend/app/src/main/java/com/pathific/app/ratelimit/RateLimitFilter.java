@@ -0,0 +1,61 @@
+package com.pathific.app.ratelimit;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.pathific.app.security.CorsHeaders;
+import com.pathific.app.security.JwtService;
+
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/** Answers 429 + Retry-After when the caller's token bucket for the route is empty. */
+public class RateLimitFilter extends OncePerRequestFilter {
+  private static final String LIMITED_BODY = "{\"ok\":false,\"error\":\"Too many requests\"}";
+
+  private final RateLimiter limiter;
+  private final JwtService jwt;
+  private final CorsConfigurationSource cors;
+
+  public RateLimitFilter(RateLimiter limiter, JwtService jwt, CorsConfigurationSource cors) {
+    this.limiter = limiter;
+    this.jwt = jwt;
+    this.cors = cors;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    long waitNanos = limiter.check(request.getMethod(), path, request.getRemoteAddr(), () -> subjectOf(request));
+    if (waitNanos == 0) {
+      chain.doFilter(request, response);
+      return;
+    }
+    long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    // We run before the security chain's CorsFilter: add its headers so browsers can read this
+    CorsHeaders.apply(cors, request, response);
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.getWriter().write(LIMITED_BODY);
+  }
+
+  /**
+   * JWT subject from a valid bearer token, else null (invalid tokens fall back to IP limits).
+   * The parsed claims stay on the request, so the security chain does not parse the token again.
+   */
+  private String subjectOf(HttpServletRequest request) {
+    Claims claims = jwt.claimsOf(request);
+    return claims == null ? null : claims.getSubject();
+  }
+}
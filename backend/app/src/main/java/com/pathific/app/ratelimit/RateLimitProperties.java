@@ -0,0 +1,34 @@
+package com.pathific.app.ratelimit;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * app.ratelimit.* from application.yaml.
+ *
+ * @param enabled         turn the filter off entirely
+ * @param maxKeys         upper bound on live buckets (least recently seen are dropped first)
+ * @param idleEvictAfter  buckets untouched this long are evicted; keep it above the slowest refill
+ * @param routes          first matching route wins; unmatched requests are not limited
+ */
+@ConfigurationProperties(prefix = "app.ratelimit")
+public record RateLimitProperties(
+    boolean enabled,
+    int maxKeys,
+    Duration idleEvictAfter,
+    List<Route> routes
+) {
+  /**
+   * @param name        bucket namespace, also shown in logs
+   * @param method      HTTP method, or null for any
+   * @param path        Ant-style path pattern, e.g. /api/completions/**
+   * @param perIp       limit per client IP, or null
+   * @param perSubject  limit per JWT subject (requests without a valid token skip it), or null
+   */
+  public record Route(String name, String method, String path, Limit perIp, Limit perSubject) {}
+
+  /** A bucket that holds `capacity` tokens and regains `refillPerMinute` tokens each minute. */
+  public record Limit(double capacity, double refillPerMinute) {}
+}
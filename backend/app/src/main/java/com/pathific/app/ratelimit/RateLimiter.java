@@ -0,0 +1,70 @@
+package com.pathific.app.ratelimit;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.AntPathMatcher;
+
+import com.pathific.app.ratelimit.RateLimitProperties.Limit;
+import com.pathific.app.ratelimit.RateLimitProperties.Route;
+
+/** Matches a request to its route and charges the per-IP and per-subject buckets. */
+public class RateLimiter {
+  private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+
+  private final TokenBucketTable buckets;
+  private final List<Route> routes;
+  private final AntPathMatcher matcher = new AntPathMatcher();
+
+  public RateLimiter(TokenBucketTable buckets, List<Route> routes) {
+    this.buckets = buckets;
+    this.routes = routes;
+  }
+
+  /**
+   * Returns 0 if the request may proceed, otherwise nanoseconds until it would be allowed.
+   * The subject is only resolved (JWT parsed) when a matching route limits per subject.
+   * A request rejected by its subject bucket gets its IP token back, so one throttled
+   * account does not drain the limit of everyone behind the same address.
+   */
+  public long check(String method, String path, String ip, Supplier<String> subject) {
+    Route route = match(method, path);
+    if (route == null) return 0;
+
+    long wait = charge(route.perIp(), route.name(), "ip", ip);
+    if (wait > 0 || route.perSubject() == null) return wait;
+
+    String sub = subject.get();
+    if (sub == null) return 0;
+    wait = charge(route.perSubject(), route.name(), "sub", sub);
+    if (wait > 0 && route.perIp() != null && ip != null) {
+      buckets.refund(TokenBucketTable.key(route.name(), "ip", ip), route.perIp().capacity());
+    }
+    return wait;
+  }
+
+  @Scheduled(fixedDelayString = "${app.ratelimit.evict-interval-ms:60000}")
+  public void evictIdle() {
+    int evicted = buckets.evictIdle();
+    if (evicted > 0) {
+      log.debug("ratelimit: evicted {} idle buckets, {} live", evicted, buckets.size());
+    }
+  }
+
+  private Route match(String method, String path) {
+    for (Route r : routes) {
+      if ((r.method() == null || r.method().equalsIgnoreCase(method)) && matcher.match(r.path(), path)) {
+        return r;
+      }
+    }
+    return null;
+  }
+
+  private long charge(Limit limit, String route, String kind, String value) {
+    if (limit == null || value == null) return 0;
+    return buckets.tryConsume(TokenBucketTable.key(route, kind, value), limit.capacity(), limit.refillPerMinute() / 60.0);
+  }
+}
@@ -0,0 +1,128 @@
+package com.pathific.app.ratelimit;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets for many clients, in bounded memory.
+ *
+ * Keys are 64-bit hashes (no per-client strings are retained). The table is split
+ * into lock stripes; each stripe is an access-ordered LinkedHashMap, so
+ *  - a stripe over its share of maxKeys drops its least recently seen bucket, and
+ *  - evictIdle() only walks the stale head of each stripe.
+ * Evicting a bucket that has been idle long enough to refill completely loses nothing.
+ */
+public class TokenBucketTable {
+  private static final int STRIPES = 256;
+
+  private final Stripe[] stripes = new Stripe[STRIPES];
+  private final long idleNanos;
+  private final LongSupplier nanoClock;
+
+  private static final class Bucket {
+    double tokens;
+    long refilledAt;
+  }
+
+  private static final class Stripe extends LinkedHashMap<Long, Bucket> {
+    private final int maxEntries;
+
+    Stripe(int maxEntries) {
+      super(16, 0.75f, true);
+      this.maxEntries = maxEntries;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Long, Bucket> eldest) {
+      return size() > maxEntries;
+    }
+  }
+
+  public TokenBucketTable(int maxKeys, long idleNanos) {
+    this(maxKeys, idleNanos, System::nanoTime);
+  }
+
+  TokenBucketTable(int maxKeys, long idleNanos, LongSupplier nanoClock) {
+    int perStripe = Math.max(1, maxKeys / STRIPES);
+    for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe(perStripe);
+    this.idleNanos = idleNanos;
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * Takes one token from the key's bucket (created full on first use).
+   * Returns 0 if the token was granted, otherwise nanoseconds until one will be available.
+   */
+  public long tryConsume(long key, double capacity, double tokensPerSecond) {
+    double perNano = tokensPerSecond / 1e9;
+    long now = nanoClock.getAsLong();
+    Stripe stripe = stripes[(int) (key ^ (key >>> 32)) & (STRIPES - 1)];
+    synchronized (stripe) {
+      Bucket b = stripe.get(key);
+      if (b == null) {
+        b = new Bucket();
+        b.tokens = capacity;
+        stripe.put(key, b);
+      } else {
+        b.tokens = Math.min(capacity, b.tokens + (now - b.refilledAt) * perNano);
+      }
+      b.refilledAt = now;
+      if (b.tokens >= 1) {
+        b.tokens -= 1;
+        return 0;
+      }
+      return (long) Math.ceil((1 - b.tokens) / perNano);
+    }
+  }
+
+  /** Gives back a token taken by tryConsume, e.g. when a later check rejected the request anyway. */
+  public void refund(long key, double capacity) {
+    Stripe stripe = stripes[(int) (key ^ (key >>> 32)) & (STRIPES - 1)];
+    synchronized (stripe) {
+      Bucket b = stripe.get(key);
+      if (b != null) b.tokens = Math.min(capacity, b.tokens + 1);
+    }
+  }
+
+  /** Drops buckets untouched for longer than the idle window; returns how many. */
+  public int evictIdle() {
+    long cutoff = nanoClock.getAsLong() - idleNanos;
+    int evicted = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        Iterator<Bucket> it = stripe.values().iterator();
+        while (it.hasNext() && it.next().refilledAt - cutoff < 0) {
+          it.remove();
+          evicted++;
+        }
+      }
+    }
+    return evicted;
+  }
+
+  public int size() {
+    int n = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        n += stripe.size();
+      }
+    }
+    return n;
+  }
+
+  /** 64-bit FNV-1a over the parts, with a separator so ("ab","c") != ("a","bc"). */
+  public static long key(String... parts) {
+    long h = 0xcbf29ce484222325L;
+    for (String part : parts) {
+      for (int i = 0; i < part.length(); i++) {
+        h ^= part.charAt(i);
+        h *= 0x100000001b3L;
+      }
+      h ^= 0x1F;
+      h *= 0x100000001b3L;
+    }
+    return h;
+  }
+}
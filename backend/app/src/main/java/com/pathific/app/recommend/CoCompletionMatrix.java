@@ -0,0 +1,259 @@
+package com.pathific.app.recommend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sparse module-by-module co-completion counts, updated one completion at a time.
+ *
+ * Layout:
+ *  - one Row per module: neighbour module id -> number of users who completed both
+ *  - one history per user: the modules they completed, in arrival order
+ *
+ * Writers lock a single row or a single user stripe at a time. Readers only touch
+ * the per-row top-K snapshot (immutable, published through a volatile field), so
+ * recommend() never waits on a writer holding a row.
+ *
+ * Rows are pruned to the strongest maxRowSize neighbours, which makes the counts
+ * approximate for weak pairs but bounds memory at modules * maxRowSize.
+ */
+public class CoCompletionMatrix {
+  private static final int STRIPES = 64;
+
+  private final int topK;
+  private final int maxRowSize;
+  private final int historyWindow;
+
+  @SuppressWarnings("unchecked")
+  private final LongObjectHashMap<Row>[] rows = new LongObjectHashMap[STRIPES];
+  @SuppressWarnings("unchecked")
+  private final LongObjectHashMap<long[]>[] histories = new LongObjectHashMap[STRIPES];
+
+  /** Most completed modules, used when a user has no history yet. */
+  private volatile Neighbours popular = Neighbours.EMPTY;
+
+  /**
+   * @param topK          neighbours kept in each row's read snapshot
+   * @param maxRowSize    neighbours kept in a row after pruning
+   * @param historyWindow how many of a user's latest modules are paired with a new completion
+   */
+  public CoCompletionMatrix(int topK, int maxRowSize, int historyWindow) {
+    if (topK < 1 || maxRowSize < topK || historyWindow < 1) {
+      throw new IllegalArgumentException("need 1 <= topK <= maxRowSize and historyWindow >= 1");
+    }
+    this.topK = topK;
+    this.maxRowSize = maxRowSize;
+    this.historyWindow = historyWindow;
+    for (int i = 0; i < STRIPES; i++) {
+      rows[i] = new LongObjectHashMap<>();
+      histories[i] = new LongObjectHashMap<>();
+    }
+  }
+
+  /**
+   * Records that userId completed moduleId. Returns false (and changes nothing)
+   * if that pair was already recorded, so replays and retries are harmless.
+   */
+  public boolean record(long userId, long moduleId) {
+    long[] previous;
+    LongObjectHashMap<long[]> users = histories[stripe(userId)];
+    synchronized (users) {
+      previous = users.get(userId);
+      if (previous != null && indexOf(previous, moduleId) >= 0) return false;
+      long[] next = previous == null ? new long[1] : Arrays.copyOf(previous, previous.length + 1);
+      next[next.length - 1] = moduleId;
+      users.put(userId, next);
+    }
+
+    int from = previous == null ? 0 : Math.max(0, previous.length - historyWindow);
+    int to = previous == null ? 0 : previous.length;
+
+    Row row = row(moduleId, true);
+    synchronized (row) {
+      row.completions++;
+      for (int i = from; i < to; i++) row.add(previous[i], maxRowSize);
+    }
+    for (int i = from; i < to; i++) {
+      Row other = row(previous[i], true);
+      synchronized (other) {
+        other.add(moduleId, maxRowSize);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Scores modules by summing the top-K co-completion counts of everything the user
+   * finished, skipping modules they already completed. Falls back to (and pads with)
+   * the most popular modules.
+   */
+  public List<Recommendation> recommend(long userId, int limit) {
+    long[] history;
+    LongObjectHashMap<long[]> users = histories[stripe(userId)];
+    synchronized (users) {
+      history = users.get(userId);
+    }
+    long[] seen = history == null ? new long[0] : history.clone();
+    Arrays.sort(seen);
+
+    LongIntHashMap scores = new LongIntHashMap(64);
+    if (history != null) {
+      for (int i = Math.max(0, history.length - historyWindow); i < history.length; i++) {
+        Row row = row(history[i], false);
+        if (row == null) continue;
+        Neighbours top = row.top;
+        for (int j = 0; j < top.modules.length; j++) {
+          if (Arrays.binarySearch(seen, top.modules[j]) < 0) scores.addTo(top.modules[j], top.counts[j]);
+        }
+      }
+    }
+
+    List<Recommendation> out = best(scores, limit);
+    if (out.size() < limit) {
+      Neighbours fallback = popular;
+      for (int i = 0; i < fallback.modules.length && out.size() < limit; i++) {
+        long m = fallback.modules[i];
+        if (Arrays.binarySearch(seen, m) < 0 && scores.get(m) == 0) out.add(new Recommendation(m, 0));
+      }
+    }
+    return out;
+  }
+
+  /**
+   * Trims oversized rows and republishes the top-K snapshot of every row that changed
+   * since the last call, plus the popularity fallback. Meant to run periodically.
+   */
+  public void prune() {
+    List<Row> all = new ArrayList<>();
+    for (LongObjectHashMap<Row> stripe : rows) {
+      synchronized (stripe) {
+        stripe.forEach((id, row) -> all.add(row));
+      }
+    }
+
+    long[] ids = new long[all.size()];
+    int[] totals = new int[all.size()];
+    for (int r = 0; r < all.size(); r++) {
+      Row row = all.get(r);
+      synchronized (row) {
+        if (row.dirty) {
+          row.counts.retainTop(maxRowSize);
+          row.top = top(row.counts, topK);
+          row.dirty = false;
+        }
+        ids[r] = row.id;
+        totals[r] = row.completions;
+      }
+    }
+    popular = top(ids, totals, ids.length, topK);
+  }
+
+  /** Number of modules with a row. */
+  public int modules() {
+    int n = 0;
+    for (LongObjectHashMap<Row> stripe : rows) {
+      synchronized (stripe) {
+        n += stripe.size();
+      }
+    }
+    return n;
+  }
+
+  /** Number of users with at least one recorded completion. */
+  public int users() {
+    int n = 0;
+    for (LongObjectHashMap<long[]> stripe : histories) {
+      synchronized (stripe) {
+        n += stripe.size();
+      }
+    }
+    return n;
+  }
+
+  // --- internals ---
+
+  private static final class Row {
+    final long id;
+    final LongIntHashMap counts = new LongIntHashMap();
+    int completions;
+    boolean dirty;
+    volatile Neighbours top = Neighbours.EMPTY;
+
+    Row(long id) {
+      this.id = id;
+    }
+
+    /** Caller holds the row's monitor. Trims early if the row runs away between prunes. */
+    void add(long neighbour, int maxRowSize) {
+      counts.addTo(neighbour, 1);
+      dirty = true;
+      if (counts.size() > maxRowSize * 2) counts.retainTop(maxRowSize);
+    }
+  }
+
+  /** Parallel arrays sorted by count, descending. */
+  private record Neighbours(long[] modules, int[] counts) {
+    static final Neighbours EMPTY = new Neighbours(new long[0], new int[0]);
+  }
+
+  private Row row(long moduleId, boolean create) {
+    LongObjectHashMap<Row> stripe = rows[stripe(moduleId)];
+    synchronized (stripe) {
+      Row row = stripe.get(moduleId);
+      if (row == null && create) {
+        row = new Row(moduleId);
+        stripe.put(moduleId, row);
+      }
+      return row;
+    }
+  }
+
+  private static Neighbours top(LongIntHashMap counts, int k) {
+    long[] ids = new long[counts.size()];
+    int[] values = new int[counts.size()];
+    int[] n = {0};
+    counts.forEach((key, value) -> {
+      ids[n[0]] = key;
+      values[n[0]++] = value;
+    });
+    return top(ids, values, n[0], k);
+  }
+
+  private static Neighbours top(long[] ids, int[] values, int n, int k) {
+    Integer[] order = new Integer[n];
+    for (int i = 0; i < n; i++) order[i] = i;
+    Arrays.sort(order, (a, b) -> values[b] != values[a] ? Integer.compare(values[b], values[a]) : Long.compare(ids[a], ids[b]));
+    int size = Math.min(k, n);
+    long[] topIds = new long[size];
+    int[] topValues = new int[size];
+    for (int i = 0; i < size; i++) {
+      topIds[i] = ids[order[i]];
+      topValues[i] = values[order[i]];
+    }
+    return new Neighbours(topIds, topValues);
+  }
+
+  private static List<Recommendation> best(LongIntHashMap scores, int limit) {
+    long[] ids = new long[scores.size()];
+    int[] values = new int[scores.size()];
+    int[] n = {0};
+    scores.forEach((key, value) -> {
+      ids[n[0]] = key;
+      values[n[0]++] = value;
+    });
+    Neighbours top = top(ids, values, n[0], limit);
+    List<Recommendation> out = new ArrayList<>(limit);
+    for (int i = 0; i < top.modules.length; i++) out.add(new Recommendation(top.modules[i], top.counts[i]));
+    return out;
+  }
+
+  private static int indexOf(long[] values, long value) {
+    for (int i = 0; i < values.length; i++) if (values[i] == value) return i;
+    return -1;
+  }
+
+  private static int stripe(long id) {
+    return (int) ((id * 0x9E3779B97F4A7C15L) >>> 58);
+  }
+}
@@ -0,0 +1,128 @@
+package com.pathific.app.recommend;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing long -> int map (linear probing, no boxing).
+ * Not thread-safe; callers guard it. Key 0 is reserved as the empty marker,
+ * which is fine for BIGSERIAL ids.
+ */
+public final class LongIntHashMap {
+
+  @FunctionalInterface
+  public interface Visitor {
+    void visit(long key, int value);
+  }
+
+  private long[] keys;
+  private int[] values;
+  private int size;
+  private int mask;
+
+  public LongIntHashMap() {
+    this(8);
+  }
+
+  public LongIntHashMap(int expected) {
+    int cap = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+    keys = new long[cap];
+    values = new int[cap];
+    mask = cap - 1;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int get(long key) {
+    for (int i = slot(key); ; i = (i + 1) & mask) {
+      long k = keys[i];
+      if (k == key) return values[i];
+      if (k == 0) return 0;
+    }
+  }
+
+  /** Adds delta to the value for key (missing keys count as 0) and returns the new value. */
+  public int addTo(long key, int delta) {
+    if (key == 0) throw new IllegalArgumentException("key 0 is reserved");
+    for (int i = slot(key); ; i = (i + 1) & mask) {
+      long k = keys[i];
+      if (k == key) return values[i] += delta;
+      if (k == 0) {
+        keys[i] = key;
+        values[i] = delta;
+        if (++size * 4 > keys.length * 3) grow();
+        return delta;
+      }
+    }
+  }
+
+  public void forEach(Visitor visitor) {
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != 0) visitor.visit(keys[i], values[i]);
+    }
+  }
+
+  /**
+   * Keeps only the entries with the `keep` largest values and returns the smallest
+   * value that survived (0 if the map is empty). Rebuilds the table at the new size.
+   */
+  public int retainTop(int keep) {
+    if (size <= keep) return size == 0 ? 0 : minValue();
+    int[] sorted = new int[size];
+    int n = 0;
+    for (int i = 0; i < keys.length; i++) if (keys[i] != 0) sorted[n++] = values[i];
+    Arrays.sort(sorted);
+    int threshold = sorted[size - keep];
+    // Entries tied at the threshold may overflow `keep`; admit them in table order
+    int tiesAllowed = 0;
+    for (int i = size - keep; i < size && sorted[i] == threshold; i++) tiesAllowed++;
+
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    rehash(Integer.highestOneBit(Math.max(4, keep * 2 - 1)) << 1);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] == 0) continue;
+      int v = oldValues[i];
+      if (v > threshold || (v == threshold && tiesAllowed-- > 0)) {
+        insertFresh(oldKeys[i], v);
+      }
+    }
+    return threshold;
+  }
+
+  private int minValue() {
+    int min = Integer.MAX_VALUE;
+    for (int i = 0; i < keys.length; i++) if (keys[i] != 0 && values[i] < min) min = values[i];
+    return min;
+  }
+
+  private void grow() {
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    rehash(keys.length * 2);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != 0) insertFresh(oldKeys[i], oldValues[i]);
+    }
+  }
+
+  private void rehash(int capacity) {
+    keys = new long[capacity];
+    values = new int[capacity];
+    mask = capacity - 1;
+    size = 0;
+  }
+
+  private void insertFresh(long key, int value) {
+    int i = slot(key);
+    while (keys[i] != 0) i = (i + 1) & mask;
+    keys[i] = key;
+    values[i] = value;
+    size++;
+  }
+
+  private int slot(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+}
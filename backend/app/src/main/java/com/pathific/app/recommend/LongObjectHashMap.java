@@ -0,0 +1,81 @@
+package com.pathific.app.recommend;
+
+/**
+ * Open-addressing long -> V map (linear probing, no boxed keys).
+ * Not thread-safe; callers guard it. Key 0 is reserved as the empty marker.
+ */
+public final class LongObjectHashMap<V> {
+
+  @FunctionalInterface
+  public interface Visitor<V> {
+    void visit(long key, V value);
+  }
+
+  private long[] keys;
+  private Object[] values;
+  private int size;
+  private int mask;
+
+  public LongObjectHashMap() {
+    keys = new long[16];
+    values = new Object[16];
+    mask = 15;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  @SuppressWarnings("unchecked")
+  public V get(long key) {
+    for (int i = slot(key); ; i = (i + 1) & mask) {
+      long k = keys[i];
+      if (k == key) return (V) values[i];
+      if (k == 0) return null;
+    }
+  }
+
+  public void put(long key, V value) {
+    if (key == 0) throw new IllegalArgumentException("key 0 is reserved");
+    for (int i = slot(key); ; i = (i + 1) & mask) {
+      long k = keys[i];
+      if (k == key) {
+        values[i] = value;
+        return;
+      }
+      if (k == 0) {
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 4 > keys.length * 3) grow();
+        return;
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  public void forEach(Visitor<V> visitor) {
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != 0) visitor.visit(keys[i], (V) values[i]);
+    }
+  }
+
+  private void grow() {
+    long[] oldKeys = keys;
+    Object[] oldValues = values;
+    keys = new long[oldKeys.length * 2];
+    values = new Object[oldKeys.length * 2];
+    mask = keys.length - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] == 0) continue;
+      int j = slot(oldKeys[i]);
+      while (keys[j] != 0) j = (j + 1) & mask;
+      keys[j] = oldKeys[i];
+      values[j] = oldValues[i];
+    }
+  }
+
+  private int slot(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+}
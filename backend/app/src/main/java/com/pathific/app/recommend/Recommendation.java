@@ -0,0 +1,7 @@
+package com.pathific.app.recommend;
+
+/**
+ * A suggested next module. score = summed co-completion count with the user's
+ * completed modules (0 for popularity fallbacks).
+ */
+public record Recommendation(long moduleId, int score) {}
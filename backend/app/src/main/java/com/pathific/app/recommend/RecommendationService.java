@@ -0,0 +1,112 @@
+package com.pathific.app.recommend;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.pathific.app.repository.CompletionStream;
+
+/**
+ * "Next module" recommendations served from an in-memory co-completion matrix.
+ * Warmed from the completions table once at startup, then kept current by
+ * CompletionController calling onCompletion() for every new completion.
+ *
+ * Deleting a module (or court) cascades to its completions, which the matrix never hears
+ * about; the periodic rebuild re-reads the table so such drift doesn't outlive it.
+ */
+@Service
+public class RecommendationService {
+  private static final Logger log = LoggerFactory.getLogger(RecommendationService.class);
+
+  private final CompletionStream completions;
+  private final int topK;
+  private final int maxRowSize;
+  private final int historyWindow;
+  private final boolean warmOnStartup;
+  private final AtomicBoolean rebuilding = new AtomicBoolean();
+  private volatile CoCompletionMatrix matrix;
+  // Matrix being rebuilt; live completions go to it as well (the matrix ignores duplicates)
+  private volatile CoCompletionMatrix building;
+  private volatile boolean ready;
+
+  public RecommendationService(
+      CompletionStream completions,
+      @Value("${app.recommendations.top-k}") int topK,
+      @Value("${app.recommendations.max-row-size}") int maxRowSize,
+      @Value("${app.recommendations.history-window}") int historyWindow,
+      @Value("${app.recommendations.warm-on-startup}") boolean warmOnStartup
+  ) {
+    this.completions = completions;
+    this.topK = topK;
+    this.maxRowSize = maxRowSize;
+    this.historyWindow = historyWindow;
+    this.warmOnStartup = warmOnStartup;
+    this.matrix = new CoCompletionMatrix(topK, maxRowSize, historyWindow);
+  }
+
+  /** Replays existing completions off the request path. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void warm() {
+    if (!warmOnStartup) {
+      ready = true;
+      return;
+    }
+    Thread.ofPlatform().daemon().name("recommendations-warmup").start(this::rebuild);
+  }
+
+  /**
+   * Builds a fresh matrix from the completions table and swaps it in. Requests keep being
+   * served from the current matrix meanwhile.
+   */
+  @Scheduled(fixedDelayString = "${app.recommendations.rebuild-interval-ms}",
+             initialDelayString = "${app.recommendations.rebuild-interval-ms}")
+  public void rebuild() {
+    if (!rebuilding.compareAndSet(false, true)) return;
+    long started = System.currentTimeMillis();
+    CoCompletionMatrix next = new CoCompletionMatrix(topK, maxRowSize, historyWindow);
+    building = next;
+    try {
+      long rows = completions.forEach((id, userId, moduleId, courtId) -> next.record(userId, moduleId));
+      next.prune();
+      matrix = next;
+      log.info("recommendations: built from {} completions ({} users, {} modules) in {} ms",
+        rows, next.users(), next.modules(), System.currentTimeMillis() - started);
+    } catch (RuntimeException e) {
+      log.error("recommendations: rebuild failed, keeping the current matrix", e);
+    } finally {
+      building = null;
+      rebuilding.set(false);
+      ready = true;
+    }
+  }
+
+  public void onCompletion(long userId, long moduleId) {
+    // building before matrix: a rebuild swaps matrix first, so nothing falls between the two
+    CoCompletionMatrix next = building;
+    CoCompletionMatrix current = matrix;
+    current.record(userId, moduleId);
+    if (next != null && next != current) next.record(userId, moduleId);
+  }
+
+  @Scheduled(fixedDelayString = "${app.recommendations.prune-interval-ms}",
+             initialDelayString = "${app.recommendations.prune-interval-ms}")
+  public void prune() {
+    matrix.prune();
+  }
+
+  public List<Recommendation> recommend(long userId, int limit) {
+    return matrix.recommend(userId, limit);
+  }
+
+  /** False while the startup warm-up is still running. */
+  public boolean isReady() {
+    return ready;
+  }
+}
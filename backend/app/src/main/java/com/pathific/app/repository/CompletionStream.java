@@ -0,0 +1,61 @@
+package com.pathific.app.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Streams every completion (with its module's court) through a server-side cursor,
+ * for warming in-memory indexes at startup without loading the table into a List.
+ */
+@Repository
+public class CompletionStream {
+  private static final int FETCH_SIZE = 10_000;
+
+  @FunctionalInterface
+  public interface Handler {
+    void accept(long completionId, long userId, long moduleId, long courtId);
+  }
+
+  private final JdbcTemplate jdbc;
+
+  public CompletionStream(JdbcTemplate jdbc) {
+    this.jdbc = jdbc;
+  }
+
+  /** Visits completions in id order; returns how many rows were visited. */
+  public long forEach(Handler handler) {
+    Long n = jdbc.execute((ConnectionCallback<Long>) con -> {
+      // Postgres only honours the fetch size inside a transaction
+      boolean autoCommit = con.getAutoCommit();
+      con.setAutoCommit(false);
+      try {
+        return scan(con, handler);
+      } finally {
+        con.rollback();
+        con.setAutoCommit(autoCommit);
+      }
+    });
+    return n == null ? 0 : n;
+  }
+
+  private static long scan(Connection con, Handler handler) throws SQLException {
+    long n = 0;
+    try (PreparedStatement ps = con.prepareStatement(
+        "SELECT c.id, c.user_id, c.module_id, m.court_id FROM completions c JOIN modules m ON m.id = c.module_id ORDER BY c.id")) {
+      ps.setFetchSize(FETCH_SIZE);
+      try (ResultSet rs = ps.executeQuery()) {
+        while (rs.next()) {
+          handler.accept(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4));
+          n++;
+        }
+      }
+    }
+    return n;
+  }
+}
@@ -0,0 +1,56 @@
+package com.pathific.app.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Runs "UPDATE ... SET <changed columns>, version = version + 1 WHERE id = ? [AND version = ?] RETURNING ...".
+ *
+ * Only when no row comes back is the version read again, in its own statement, to tell a
+ * missing row apart from a version mismatch. Reading it inside the UPDATE (a CTE) would see
+ * the statement's snapshot, which misses a concurrent update or delete committed while the
+ * UPDATE waited on the row lock, and the 412 would then carry a stale ETag.
+ *
+ * Table and column names come from callers' constants, never from request input.
+ */
+final class ConditionalUpdate {
+  private ConditionalUpdate() {}
+
+  /**
+   * @param changes          column -> new value, only for fields the client sent (may be empty)
+   * @param expectedVersion  null for an unconditional update
+   * @param returning        RETURNING columns; must include version
+   * @param mapper           maps the RETURNING columns
+   */
+  static <T> PatchResult<T> run(JdbcTemplate jdbc, String table, String returning, Map<String, Object> changes,
+                                long id, Long expectedVersion, RowMapper<T> mapper) {
+    StringBuilder sql = new StringBuilder().append("UPDATE ").append(table).append(" SET ");
+    List<Object> args = new ArrayList<>();
+    for (Map.Entry<String, Object> change : changes.entrySet()) {
+      sql.append(change.getKey()).append(" = ?, ");
+      args.add(change.getValue());
+    }
+    // Nothing to change: still run the version check, but don't invalidate clients' ETags
+    sql.append(changes.isEmpty() ? "version = version" : "version = version + 1");
+    sql.append(" WHERE id = ?");
+    args.add(id);
+    if (expectedVersion != null) {
+      sql.append(" AND version = ?");
+      args.add(expectedVersion);
+    }
+    sql.append(" RETURNING ").append(returning);
+
+    List<PatchResult<T>> updated = jdbc.query(sql.toString(), (rs, n) ->
+      new PatchResult<>(PatchResult.Status.UPDATED, mapper.mapRow(rs, n), rs.getLong("version")), args.toArray());
+    if (!updated.isEmpty()) return updated.get(0);
+
+    List<Long> current = jdbc.queryForList("SELECT version FROM " + table + " WHERE id = ?", Long.class, id);
+    return current.isEmpty()
+      ? new PatchResult<>(PatchResult.Status.NOT_FOUND, null, null)
+      : new PatchResult<>(PatchResult.Status.VERSION_MISMATCH, null, current.get(0));
+  }
+}
@@ -0,0 +1,37 @@
+package com.pathific.app.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * module id -> court id, cached. Modules never move between courts, so entries stay
+ * valid until the module is deleted (a stale entry for a deleted module is harmless).
+ */
+@Repository
+public class ModuleCourtLookup {
+  private final JdbcTemplate jdbc;
+  private final Map<Long, Long> courts = new ConcurrentHashMap<>();
+
+  public ModuleCourtLookup(JdbcTemplate jdbc) {
+    this.jdbc = jdbc;
+  }
+
+  /** Court of the module, or null if the module does not exist. */
+  public Long courtOf(long moduleId) {
+    Long court = courts.get(moduleId);
+    if (court != null) return court;
+    List<Long> found = jdbc.queryForList("SELECT court_id FROM modules WHERE id = ?", Long.class, moduleId);
+    if (found.isEmpty()) return null;
+    courts.put(moduleId, found.get(0));
+    return found.get(0);
+  }
+
+  /** Seeds the cache from a row the caller already read. */
+  public void remember(long moduleId, long courtId) {
+    courts.put(moduleId, courtId);
+  }
+}
@@ -6,6 +6,6 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.pathific.app.entity.ModuleItem;
 
-public interface ModuleItemRepository extends JpaRepository<ModuleItem, Long> {
+public interface ModuleItemRepository extends JpaRepository<ModuleItem, Long>, ModuleItemRepositoryCustom {
      List<ModuleItem> findByModuleIdOrderByPositionAsc(Long moduleId); 
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.pathific.app.repository;
+
+import com.pathific.app.entity.ModuleItem;
+
+public interface ModuleItemRepositoryCustom {
+     /**
+      * Updates only the non-null fields in one statement and bumps the version.
+      * With expectedVersion set, the update only applies if the row still has that version.
+      */
+     PatchResult<ModuleItem> patch(long id, Long expectedVersion, String title, String url, Integer position);
+
+     /**
+      * Deletes the item regardless of its version (patch() bumps it outside JPA, so an
+      * entity-based delete could fail its version check). Returns the module id, or null if absent.
+      */
+     Long deleteReturningModuleId(long id);
+}
@@ -0,0 +1,39 @@
+package com.pathific.app.repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.pathific.app.entity.ModuleItem;
+
+/** Picked up by Spring Data as the implementation of ModuleItemRepositoryCustom. */
+class ModuleItemRepositoryCustomImpl implements ModuleItemRepositoryCustom {
+  private final JdbcTemplate jdbc;
+
+  ModuleItemRepositoryCustomImpl(JdbcTemplate jdbc) {
+    this.jdbc = jdbc;
+  }
+
+  @Override
+  public PatchResult<ModuleItem> patch(long id, Long expectedVersion, String title, String url, Integer position) {
+    Map<String, Object> changes = new LinkedHashMap<>();
+    if (title != null) changes.put("title", title);
+    if (url != null) changes.put("url", url);
+    if (position != null) changes.put("position", position);
+
+    return ConditionalUpdate.run(jdbc, "module_items", "id, module_id, title, url, position, version",
+      changes, id, expectedVersion, (rs, n) -> {
+        ModuleItem mi = new ModuleItem(rs.getLong("module_id"), rs.getString("title"), rs.getString("url"), rs.getInt("position"));
+        mi.setId(rs.getLong("id"));
+        mi.setVersion(rs.getLong("version"));
+        return mi;
+      });
+  }
+
+  @Override
+  public Long deleteReturningModuleId(long id) {
+    return jdbc.query("DELETE FROM module_items WHERE id = ? RETURNING module_id",
+      (rs, n) -> rs.getLong("module_id"), id).stream().findFirst().orElse(null);
+  }
+}
@@ -6,7 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.pathific.app.entity.Module;
 
-public interface ModuleRepository extends JpaRepository<Module, Long> {
+public interface ModuleRepository extends JpaRepository<Module, Long>, ModuleRepositoryCustom {
     // This method name follows Spring Data JPA naming convention
     // Spring automatically implements: SELECT * FROM modules WHERE court_id = ? ORDER BY order_index ASC
     List<Module> findByCourtIdOrderByOrderIndexAsc(Long courtId);
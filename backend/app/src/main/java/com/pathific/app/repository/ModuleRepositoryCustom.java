@@ -0,0 +1,17 @@
+package com.pathific.app.repository;
+
+import com.pathific.app.entity.Module;
+
+public interface ModuleRepositoryCustom {
+    /**
+     * Updates only the non-null fields in one statement and bumps the version.
+     * With expectedVersion set, the update only applies if the row still has that version.
+     */
+    PatchResult<Module> patch(long id, Long expectedVersion, String title, String summary, Integer orderIndex);
+
+    /**
+     * Deletes the module regardless of its version (patch() bumps it outside JPA, so an
+     * entity-based delete could fail its version check). Returns the court id, or null if absent.
+     */
+    Long deleteReturningCourtId(long id);
+}
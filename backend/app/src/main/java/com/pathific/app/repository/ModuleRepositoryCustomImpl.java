@@ -0,0 +1,40 @@
+package com.pathific.app.repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.pathific.app.entity.Module;
+
+/** Picked up by Spring Data as the implementation of ModuleRepositoryCustom. */
+class ModuleRepositoryCustomImpl implements ModuleRepositoryCustom {
+    private final JdbcTemplate jdbc;
+
+    ModuleRepositoryCustomImpl(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public PatchResult<Module> patch(long id, Long expectedVersion, String title, String summary, Integer orderIndex) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (title != null) changes.put("title", title);
+        if (summary != null) changes.put("summary", summary);
+        if (orderIndex != null) changes.put("order_index", orderIndex);
+
+        return ConditionalUpdate.run(jdbc, "modules", "id, court_id, title, summary, order_index, curator_id, version",
+            changes, id, expectedVersion, (rs, n) -> {
+                Module m = new Module(rs.getLong("court_id"), rs.getString("title"), rs.getString("summary"), rs.getInt("order_index"));
+                m.setId(rs.getLong("id"));
+                m.setCuratorId(rs.getObject("curator_id", Long.class));
+                m.setVersion(rs.getLong("version"));
+                return m;
+            });
+    }
+
+    @Override
+    public Long deleteReturningCourtId(long id) {
+        return jdbc.query("DELETE FROM modules WHERE id = ? RETURNING court_id",
+            (rs, n) -> rs.getLong("court_id"), id).stream().findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.pathific.app.repository;
+
+/**
+ * Outcome of a conditional update.
+ *
+ * @param status         what happened
+ * @param entity         the row as updated (only when UPDATED)
+ * @param currentVersion version of the row after the update, or as re-read after a miss (null when NOT_FOUND)
+ */
+public record PatchResult<T>(Status status, T entity, Long currentVersion) {
+
+  public enum Status {
+    UPDATED,
+    NOT_FOUND,
+    /** The row exists but its version did not match the expected one. */
+    VERSION_MISMATCH
+  }
+}
@@ -0,0 +1,45 @@
+package com.pathific.app.security;
+
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * CORS headers for responses written by filters that run ahead of Spring Security's
+ * CorsFilter (rate limit 429s, load-shedding 503s). Without them browsers hide the
+ * response, Retry-After included, from the frontend.
+ */
+public final class CorsHeaders {
+
+  private CorsHeaders() {}
+
+  /**
+   * Adds the actual-response headers the main CORS configuration would add. Unlike
+   * DefaultCorsProcessor this never writes a body or commits the response, so a
+   * disallowed origin just gets no CORS headers and the caller's status stands.
+   */
+  public static void apply(CorsConfigurationSource source, HttpServletRequest request, HttpServletResponse response) {
+    String origin = request.getHeader(HttpHeaders.ORIGIN);
+    if (origin == null) return;
+    CorsConfiguration config = source.getCorsConfiguration(request);
+    if (config == null) return;
+
+    response.addHeader(HttpHeaders.VARY, HttpHeaders.ORIGIN);
+    String allowed = config.checkOrigin(origin);
+    if (allowed == null) return;
+
+    response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, allowed);
+    if (Boolean.TRUE.equals(config.getAllowCredentials())) {
+      response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
+    }
+    List<String> exposed = config.getExposedHeaders();
+    if (exposed != null && !exposed.isEmpty()) {
+      response.setHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, String.join(", ", exposed));
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package com.pathific.app.security;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Authenticates requests carrying a valid "Authorization: Bearer <jwt>" as the token's
+ * subject (the user's email), with ROLE_<role> from its role claim. Missing or invalid
+ * tokens leave the request anonymous; the authorization rules decide what that may reach.
+ *
+ * Only added to the security chain (SecurityConfig), never registered as a servlet filter.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+  private final JwtService jwt;
+
+  public JwtAuthenticationFilter(JwtService jwt) {
+    this.jwt = jwt;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    Claims claims = jwt.claimsOf(request);
+    if (claims != null) {
+      String role = claims.get("role", String.class);
+      var auth = new UsernamePasswordAuthenticationToken(claims.getSubject(), null,
+        role == null ? List.of() : List.of(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase())));
+      SecurityContextHolder.getContext().setAuthentication(auth);
+    }
+    chain.doFilter(request, response);
+  }
+}
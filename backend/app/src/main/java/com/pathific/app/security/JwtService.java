@@ -6,11 +6,21 @@ import java.util.Map;
 
 import javax.crypto.SecretKey;
 
+import org.springframework.http.HttpHeaders;
+
+import com.pathific.app.flight.JwtParseEvent;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.http.HttpServletRequest;
 
 public class JwtService {
+  // Request attribute: the bearer token's Claims once parsed, or Boolean.FALSE if it had none or it was invalid
+  private static final String CLAIMS_ATTRIBUTE = JwtService.class.getName() + ".claims";
+
   private final SecretKey key;
   private final String issuer;
   private final long expiresMinutes;
@@ -35,6 +45,41 @@ public class JwtService {
   }
 
   public io.jsonwebtoken.Claims parse(String token) {
-    return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    JwtParseEvent event = new JwtParseEvent();
+    event.begin();
+    boolean valid = false;
+    try {
+      io.jsonwebtoken.Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+      valid = true;
+      return claims;
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.valid = valid;
+        event.commit("parse", -1);
+      }
+    }
+  }
+
+  /**
+   * Claims of the request's "Authorization: Bearer" token, or null if it has none or it is
+   * invalid. Parsed at most once per request: the rate limit filter (ahead of the security
+   * chain) and JwtAuthenticationFilter both ask.
+   */
+  public Claims claimsOf(HttpServletRequest request) {
+    Object cached = request.getAttribute(CLAIMS_ATTRIBUTE);
+    if (cached != null) return cached instanceof Claims c ? c : null;
+
+    Claims claims = null;
+    String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+    if (header != null && header.startsWith("Bearer ")) {
+      try {
+        claims = parse(header.substring(7));
+      } catch (JwtException | IllegalArgumentException e) {
+        // Invalid: treated like no token
+      }
+    }
+    request.setAttribute(CLAIMS_ATTRIBUTE, claims == null ? Boolean.FALSE : claims);
+    return claims;
   }
 }
@@ -6,16 +6,21 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.pathific.app.flight.RecordingPasswordEncoder;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -23,10 +28,11 @@ public class SecurityConfig {
   /**
    * Password encoder for user credentials (bcrypt).
    * Used during registration and login validation.
+   * Each hash/check is a JFR event, so slow logins show up in flight recordings.
    */
   @Bean
   public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+    return new RecordingPasswordEncoder(new BCryptPasswordEncoder());
   }
 
   /**
@@ -59,6 +65,9 @@ public class SecurityConfig {
     // Allow headers required for JWT and form data
     config.setAllowedHeaders(List.of("*"));
 
+    // Let the browser read version tags (If-Match round trips) and back-off hints
+    config.setExposedHeaders(List.of("ETag", "Retry-After"));
+
     // Allow credentials (JWT in Authorization header)
     config.setAllowCredentials(true);
 
@@ -76,7 +85,7 @@ public class SecurityConfig {
    * Configures authentication, authorization, and CORS.
    */
   @Bean
-  public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+  public SecurityFilterChain filterChain(HttpSecurity http, JwtService jwt) throws Exception {
     http
       // Disable CSRF: we're using stateless JWT, not session cookies
       .csrf(csrf -> csrf.disable())
@@ -98,10 +107,18 @@ public class SecurityConfig {
         .requestMatchers("/api/auth/**").permitAll()
 
       .requestMatchers("/api/courts/**").permitAll()
+      // Creating a module makes the caller a curator, so it needs to know who the caller is
+      .requestMatchers(HttpMethod.POST, "/api/modules/**").authenticated()
       .requestMatchers("/api/modules/**").permitAll() 
       .requestMatchers("/api/module-items/**").permitAll() 
       .requestMatchers("/api/completions/**").permitAll() 
+      .requestMatchers(HttpMethod.GET, "/api/recommendations/**").permitAll()
+      .requestMatchers(HttpMethod.GET, "/api/leaderboard/**").permitAll()
+      .requestMatchers(HttpMethod.GET, "/api/home").permitAll()
+      .requestMatchers(HttpMethod.GET, "/api/badges/**").permitAll()
       .requestMatchers("/api/payments/**").permitAll()
+      // Admin endpoints check X-Admin-Token themselves
+      .requestMatchers("/api/admin/**").permitAll()
 
         // Later: you can add admin-only rules here, e.g.: --uncomment below to add.
         // .requestMatchers("/api/users/**").hasRole("ADMIN")
@@ -110,6 +127,10 @@ public class SecurityConfig {
         .anyRequest().authenticated()
       )
 
+      // Bearer tokens authenticate the request; without one, protected routes answer 401
+      .addFilterBefore(new JwtAuthenticationFilter(jwt), UsernamePasswordAuthenticationFilter.class)
+      .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+
       // Disable basic auth and form login (we're using JWT)
       .httpBasic(basic -> basic.disable())
       .formLogin(form -> form.disable());
@@ -28,4 +28,14 @@ public class UserRepository {
       return null;
     }
   }
+
+  /**
+   * The numeric id completions, leaderboards and badges know the user by (their external id),
+   * or null if the user is unknown or their external id is not numeric.
+   */
+  public Long findNumericIdByEmail(String email) {
+    return jdbc.query(
+      "SELECT external_id::bigint FROM users WHERE email = ? AND external_id ~ '^[0-9]{1,18}$'",
+      (rs, n) -> rs.getLong(1), email).stream().findFirst().orElse(null);
+  }
 }
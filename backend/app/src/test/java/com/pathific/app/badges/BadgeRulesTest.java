@@ -0,0 +1,52 @@
+package com.pathific.app.badges;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.pathific.app.events.DomainEvent.ModuleCreated;
+import com.pathific.app.events.DomainEvent.WeeklyWinnerComputed;
+
+class BadgeRulesTest {
+
+	private final BadgeCounters counters = new BadgeCounters();
+	private final List<Award> awards = new ArrayList<>();
+
+	private BadgeRules rules(int curatorMinModules) {
+		return new BadgeRules(curatorMinModules);
+	}
+
+	@Test
+	void curatorIsAwardedOnceWhenReachingTheBar() {
+		BadgeRules rules = rules(2);
+		rules.apply(new ModuleCreated(1, 1, 7L), counters, awards);
+		assertThat(awards).isEmpty();
+
+		rules.apply(new ModuleCreated(2, 1, 7L), counters, awards);
+		rules.apply(new ModuleCreated(3, 1, 7L), counters, awards);
+		rules.apply(new ModuleCreated(4, 1, null), counters, awards);
+		assertThat(awards).containsExactly(new Award(7, BadgeRules.CURATOR));
+	}
+
+	@Test
+	void weeklyWinnerAwardsTheCuratorsCarriedByTheEvent() {
+		BadgeRules rules = rules(1);
+		// This node only saw curator 8's module; 9 curated the court elsewhere or before a restart
+		rules.apply(new ModuleCreated(20, 2, 8L), counters, awards);
+		awards.clear();
+
+		LocalDate week = LocalDate.of(2026, 10, 12);
+		rules.apply(new WeeklyWinnerComputed(2, week, week.plusDays(6), List.of(8L, 9L)), counters, awards);
+		assertThat(awards).containsExactly(new Award(8, BadgeRules.WEEKLY_WINNER), new Award(9, BadgeRules.WEEKLY_WINNER));
+	}
+
+	@Test
+	void weeksStartOnMonday() {
+		assertThat(BadgeRules.weekStartOf(LocalDate.of(2026, 10, 18))).isEqualTo(LocalDate.of(2026, 10, 12));
+		assertThat(BadgeRules.weekStartOf(LocalDate.of(2026, 10, 19))).isEqualTo(LocalDate.of(2026, 10, 19));
+	}
+}
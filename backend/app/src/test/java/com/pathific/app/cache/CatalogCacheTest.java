@@ -0,0 +1,70 @@
+package com.pathific.app.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.pathific.app.entity.Module;
+
+class CatalogCacheTest {
+
+	private final CatalogCache cache = new CatalogCache(true, 1000);
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private List<Module> load() {
+		loads.incrementAndGet();
+		return List.of(new Module());
+	}
+
+	@Test
+	void evictsOnlyTheKeysInTheMessage() {
+		cache.modules(1, this::load);
+		cache.modules(2, this::load);
+		cache.modules(3, this::load);
+
+		cache.apply("m:1,3");
+		cache.modules(1, this::load);
+		cache.modules(2, this::load);
+		cache.modules(3, this::load);
+		assertThat(loads).hasValue(5);
+
+		cache.apply("m:*");
+		cache.modules(2, this::load);
+		assertThat(loads).hasValue(6);
+	}
+
+	@Test
+	void malformedMessageFlushesEverything() {
+		cache.modules(1, this::load);
+		cache.apply("m:1,x");
+		cache.apply("garbage");
+		cache.modules(1, this::load);
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void doesNotKeepALoadThatRacedWithAnInvalidation() {
+		cache.modules(7, () -> {
+			cache.apply("m:7"); // lands while the query is running
+			return load();
+		});
+		cache.modules(7, this::load);
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void bypassesTheCacheWhileIncoherent() {
+		cache.setCoherent(false);
+		cache.modules(1, this::load);
+		cache.modules(1, this::load);
+		assertThat(loads).hasValue(2);
+
+		cache.setCoherent(true);
+		cache.modules(1, this::load);
+		cache.modules(1, this::load);
+		assertThat(loads).hasValue(3);
+	}
+}
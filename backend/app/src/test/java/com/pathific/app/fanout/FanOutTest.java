@@ -0,0 +1,64 @@
+package com.pathific.app.fanout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class FanOutTest {
+
+	private final FanOut fanOut = new FanOut();
+
+	@AfterEach
+	void close() {
+		fanOut.close();
+	}
+
+	@Test
+	void runsBranchesConcurrently() throws Exception {
+		long started = System.nanoTime();
+		FanOut.Results results;
+		try (FanOut.Scope scope = fanOut.open()) {
+			for (int i = 0; i < 4; i++) {
+				int n = i;
+				scope.fork("b" + n, Duration.ofSeconds(5), () -> {
+					Thread.sleep(200);
+					return n;
+				});
+			}
+			results = scope.join();
+		}
+		assertThat(results.values()).containsEntry("b0", 0).containsEntry("b3", 3);
+		assertThat(results.partial()).isFalse();
+		assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(700));
+	}
+
+	@Test
+	void reportsFailedAndLateBranchesAndCancelsTheLateOnes() throws Exception {
+		CountDownLatch interrupted = new CountDownLatch(1);
+		FanOut.Results results;
+		try (FanOut.Scope scope = fanOut.open()) {
+			scope.fork("ok", Duration.ofSeconds(1), () -> "fine");
+			scope.fork("broken", Duration.ofSeconds(1), () -> {
+				throw new IllegalStateException("db down");
+			});
+			scope.fork("slow", Duration.ofMillis(100), () -> {
+				try {
+					Thread.sleep(10_000);
+				} catch (InterruptedException e) {
+					interrupted.countDown();
+				}
+				return "too late";
+			});
+			results = scope.join();
+		}
+		assertThat(results.values()).containsOnlyKeys("ok");
+		assertThat(results.errors()).containsEntry("broken", "failed").containsEntry("slow", "timeout");
+		assertThat(results.allFailed()).isFalse();
+		assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+	}
+}
@@ -0,0 +1,99 @@
+package com.pathific.app.flight;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.framework.ProxyFactory;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class FlightEventsTest {
+
+	interface Lookup {
+		List<String> findAll();
+
+		List<String> viaNested(Lookup inner);
+	}
+
+	static class ListLookup implements Lookup {
+		@Override
+		public List<String> findAll() {
+			return List.of("a", "b", "c");
+		}
+
+		@Override
+		public List<String> viaNested(Lookup inner) {
+			return inner.findAll();
+		}
+	}
+
+	private static Lookup recorded(String owner) {
+		ProxyFactory proxy = new ProxyFactory(new ListLookup());
+		proxy.addAdvice(new QueryRecorder(owner, false));
+		return (Lookup) proxy.getProxy();
+	}
+
+	@Test
+	void recordsQueriesWithRowsAndThreadTypeInTheDump(@TempDir Path dir) throws Exception {
+		try (FlightRecording recording = new FlightRecording("default", Duration.ofMinutes(5), 16L << 20)) {
+			long before = RowTally.total();
+			Lookup outer = recorded("OuterRepository");
+			outer.findAll();
+			outer.viaNested(recorded("InnerRepository"));
+			// The nested call is recorded but its rows are only tallied once
+			assertThat(RowTally.total() - before).isEqualTo(6);
+
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			recording.dump(Duration.ofMinutes(1), out);
+			Path file = dir.resolve("dump.jfr");
+			Files.write(file, out.toByteArray());
+
+			List<RecordedEvent> queries = RecordingFile.readAllEvents(file).stream()
+				.filter(e -> e.getEventType().getName().equals("pathific.Query"))
+				.toList();
+			assertThat(queries).extracting(e -> e.getString("endpoint"))
+				.contains("OuterRepository.findAll", "OuterRepository.viaNested", "InnerRepository.findAll");
+			assertThat(queries).allSatisfy(e -> {
+				assertThat(e.getLong("rows")).isEqualTo(3);
+				assertThat(e.getString("threadType")).isEqualTo("platform");
+			});
+		}
+	}
+
+	@Test
+	void rowCountsFollowTheResultShape() {
+		assertThat(QueryRecorder.rowsOf("query", null)).isZero();
+		assertThat(QueryRecorder.rowsOf("findAll", List.of(1, 2))).isEqualTo(2);
+		assertThat(QueryRecorder.rowsOf("findById", java.util.Optional.empty())).isZero();
+		assertThat(QueryRecorder.rowsOf("query", java.util.stream.Stream.of(1))).isEqualTo(-1);
+		assertThat(QueryRecorder.rowsOf("findById", new Object())).isEqualTo(1);
+		// A selected number is one row, whatever its type or value
+		assertThat(QueryRecorder.rowsOf("queryForObject", 4)).isEqualTo(1);
+		assertThat(QueryRecorder.rowsOf("queryForObject", 4L)).isEqualTo(1);
+		// Update counts only come from update / batchUpdate
+		assertThat(QueryRecorder.rowsOf("update", 4)).isEqualTo(4);
+		assertThat(QueryRecorder.rowsOf("batchUpdate", new int[] {1, 1, -2})).isEqualTo(2);
+		assertThat(QueryRecorder.rowsOf("batchUpdate", new int[][] {{1, 1}, {1}})).isEqualTo(3);
+	}
+
+	@Test
+	void rowsReadInFanOutBranchesCountForTheCaller() throws Exception {
+		long before = RowTally.total();
+		Lookup lookup = recorded("BranchRepository");
+		try (var executor = java.util.concurrent.Executors.newVirtualThreadPerTaskExecutor()) {
+			var first = executor.submit(RowTally.sharedWithCaller(lookup::findAll));
+			var second = executor.submit(RowTally.sharedWithCaller(lookup::findAll));
+			first.get();
+			second.get();
+		}
+		assertThat(RowTally.total() - before).isEqualTo(6);
+	}
+}
@@ -0,0 +1,60 @@
+package com.pathific.app.leaderboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class LeaderboardTest {
+
+	private static Leaderboard board(int... scoresByUser) {
+		Leaderboard board = new Leaderboard();
+		for (int user = 0; user < scoresByUser.length; user++) {
+			board.add(user + 1, scoresByUser[user]);
+		}
+		return board;
+	}
+
+	@Test
+	void ranksByScoreWithSharedRanksForTies() {
+		Leaderboard board = board(5, 9, 5, 1);
+
+		assertThat(board.top(10)).containsExactly(
+			new Standing(2, 9, 1), new Standing(1, 5, 2), new Standing(3, 5, 2), new Standing(4, 1, 4));
+		assertThat(board.standingOf(4)).isEqualTo(new Standing(4, 1, 4));
+		assertThat(board.standingOf(99)).isNull();
+		assertThat(board.size()).isEqualTo(4);
+	}
+
+	@Test
+	void movesUsersBetweenScores() {
+		Leaderboard board = board(3, 3);
+		board.add(2, 1);
+		board.add(1, -3);
+
+		assertThat(board.top(10)).containsExactly(new Standing(2, 4, 1));
+		assertThat(board.size()).isEqualTo(1);
+	}
+
+	@Test
+	void aroundReturnsNeighboursInRankOrder() {
+		Leaderboard board = board(10, 8, 8, 8, 6, 4);
+
+		List<Long> ids = board.around(3, 2).stream().map(Standing::userId).toList();
+
+		assertThat(ids).containsExactly(1L, 2L, 3L, 4L, 5L);
+		assertThat(board.around(6, 1)).extracting(Standing::userId).containsExactly(5L, 6L);
+	}
+
+	@Test
+	void handlesScoresBeyondInitialCapacity() {
+		Leaderboard board = new Leaderboard();
+		IntStream.rangeClosed(1, 300).forEach(user -> board.add(user, user * 7));
+
+		assertThat(board.standingOf(300).rank()).isEqualTo(1);
+		assertThat(board.standingOf(1).rank()).isEqualTo(300);
+		assertThat(board.standingOf(150).rank()).isEqualTo(151);
+	}
+}
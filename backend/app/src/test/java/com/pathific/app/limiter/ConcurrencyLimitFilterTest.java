@@ -0,0 +1,47 @@
+package com.pathific.app.limiter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+class ConcurrencyLimitFilterTest {
+
+	@Test
+	void shedResponseCarriesCorsHeadersForAllowedOrigins() throws Exception {
+		CorsConfiguration config = new CorsConfiguration();
+		config.setAllowedOrigins(List.of("http://localhost:3000"));
+		config.setAllowedMethods(List.of("GET"));
+		config.setExposedHeaders(List.of("Retry-After"));
+		UrlBasedCorsConfigurationSource cors = new UrlBasedCorsConfigurationSource();
+		cors.registerCorsConfiguration("/**", config);
+
+		GradientLimiter full = new GradientLimiter(1, 1, 1, 0);
+		assertThat(full.tryAcquire(false)).isTrue();
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(Map.of(EndpointClass.CATALOG, full), Set.of(), 1, cors);
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/courts");
+		request.addHeader("Origin", "http://localhost:3000");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+
+		assertThat(response.getStatus()).isEqualTo(503);
+		assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+		assertThat(response.getHeader("Access-Control-Allow-Origin")).isEqualTo("http://localhost:3000");
+		assertThat(response.getHeader("Access-Control-Expose-Headers")).contains("Retry-After");
+
+		MockHttpServletRequest foreign = new MockHttpServletRequest("GET", "/api/courts");
+		foreign.addHeader("Origin", "http://evil.example");
+		MockHttpServletResponse rejected = new MockHttpServletResponse();
+		filter.doFilter(foreign, rejected, new MockFilterChain());
+		assertThat(rejected.getHeader("Access-Control-Allow-Origin")).isNull();
+	}
+}
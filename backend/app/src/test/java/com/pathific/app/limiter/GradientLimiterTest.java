@@ -0,0 +1,74 @@
+package com.pathific.app.limiter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class GradientLimiterTest {
+
+	private static final long MS = 1_000_000L;
+
+	/** Keeps the limiter saturated and feeds it samples of the given latency. */
+	private static void drive(GradientLimiter limiter, long rttNanos, int samples) {
+		for (int i = 0; i < samples; i++) {
+			while (limiter.tryAcquire(false)) { }
+			limiter.release(rttNanos, false);
+		}
+	}
+
+	@Test
+	void growsWhileLatencyHoldsAndShrinksWhenRequestsQueue() {
+		GradientLimiter limiter = new GradientLimiter(10, 2, 100, 0);
+
+		drive(limiter, 5 * MS, 200);
+		int grown = limiter.limit();
+		assertThat(grown).isGreaterThan(10);
+
+		drive(limiter, 50 * MS, 50);
+		assertThat(limiter.limit()).isLessThan(grown / 2);
+	}
+
+	@Test
+	void staysDownWhileLatencyStaysHigh() {
+		GradientLimiter limiter = new GradientLimiter(10, 2, 100, 0);
+		drive(limiter, 5 * MS, 200);
+
+		// A sustained slowdown (e.g. Postgres): queueing samples must not become the new normal
+		for (int i = 0; i < 20; i++) {
+			drive(limiter, 50 * MS, 250);
+			assertThat(limiter.limit()).isLessThanOrEqualTo(5);
+		}
+	}
+
+	@Test
+	void aLastingLatencyShiftIsEventuallyAccepted() {
+		GradientLimiter limiter = new GradientLimiter(10, 2, 100, 0);
+		drive(limiter, 5 * MS, 200);
+
+		drive(limiter, 50 * MS, 100_000);
+		assertThat(limiter.limit()).isGreaterThan(20);
+	}
+
+	@Test
+	void shedsAtTheLimitButLetsCriticalRequestsUseTheHeadroom() {
+		GradientLimiter limiter = new GradientLimiter(4, 1, 10, 0.5);
+
+		for (int i = 0; i < 4; i++) assertThat(limiter.tryAcquire(false)).isTrue();
+		assertThat(limiter.tryAcquire(false)).isFalse();
+		assertThat(limiter.tryAcquire(true)).isTrue();
+		assertThat(limiter.tryAcquire(true)).isTrue();
+		assertThat(limiter.tryAcquire(true)).isFalse();
+	}
+
+	@Test
+	void dropsBackOffAndRespectTheFloor() {
+		GradientLimiter limiter = new GradientLimiter(20, 3, 100, 0);
+
+		for (int i = 0; i < 100; i++) {
+			limiter.tryAcquire(false);
+			limiter.release(MS, true);
+		}
+		assertThat(limiter.limit()).isEqualTo(3);
+		assertThat(limiter.inFlight()).isZero();
+	}
+}
@@ -0,0 +1,85 @@
+package com.pathific.app.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+import com.pathific.app.ratelimit.RateLimitProperties.Limit;
+import com.pathific.app.ratelimit.RateLimitProperties.Route;
+import com.pathific.app.security.JwtService;
+
+/**
+ * Overhead of rate limiting per request, with 1M distinct clients in the table.
+ * Wall-clock bounds are too noisy for the default run, so this is opt-in:
+ * mvn test -Dgroups=benchmark -DexcludedGroups=
+ */
+@Tag("benchmark")
+class RateLimitBenchmarkTest {
+
+	private static final int CLIENTS = 1_000_000;
+	private static final List<Route> ROUTES = List.of(
+		new Route("login", "POST", "/api/auth/login", new Limit(10, 10), null),
+		new Route("completions", "POST", "/api/completions/**", new Limit(120, 120), new Limit(60, 60)));
+
+	@Test
+	void checkStaysInTheMicrosecondsWithAMillionClients() {
+		RateLimiter limiter = new RateLimiter(new TokenBucketTable(CLIENTS, TimeUnit.MINUTES.toNanos(10)), ROUTES);
+		String[] ips = new String[CLIENTS];
+		for (int i = 0; i < CLIENTS; i++) ips[i] = "10." + (i >>> 16) + "." + ((i >>> 8) & 0xFF) + "." + (i & 0xFF);
+
+		long sink = 0;
+		for (int round = 0; round < 3; round++) { // the first rounds create the buckets and warm up the JIT
+			for (int i = 0; i < CLIENTS; i++) sink += limiter.check("POST", "/api/auth/login", ips[i], () -> null);
+		}
+		long started = System.nanoTime();
+		for (int i = 0; i < CLIENTS; i++) sink += limiter.check("POST", "/api/auth/login", ips[i], () -> null);
+		long perOp = (System.nanoTime() - started) / CLIENTS;
+
+		System.out.printf("RateLimiter.check: %d ns/op over %d clients (%d)%n", perOp, CLIENTS, sink & 1);
+		assertThat(perOp).isLessThan(TimeUnit.MICROSECONDS.toNanos(20));
+	}
+
+	/**
+	 * The whole filter on a per-subject route (request mocks included). Anonymous requests
+	 * are bounded; with a bearer token the cost is reported only, as it is dominated by the
+	 * JWT parse, which the security chain then reuses instead of repeating.
+	 */
+	@Test
+	void filterOverheadWithAndWithoutBearerToken() throws Exception {
+		JwtService jwt = new JwtService("benchmark-secret-benchmark-secret-0123", "pathific", 60);
+		RateLimiter limiter = new RateLimiter(new TokenBucketTable(CLIENTS, TimeUnit.MINUTES.toNanos(10)), ROUTES);
+		RateLimitFilter filter = new RateLimitFilter(limiter, jwt, new UrlBasedCorsConfigurationSource());
+		String[] tokens = new String[1_000];
+		for (int i = 0; i < tokens.length; i++) {
+			tokens[i] = "Bearer " + jwt.generateToken("user" + i + "@x", Map.of("role", "user"));
+		}
+
+		long anonymous = nanosPerOp(filter, null, 200_000);
+		long bearer = nanosPerOp(filter, tokens, 20_000);
+		System.out.printf("RateLimitFilter: %d ns/op anonymous, %d ns/op with a bearer token%n", anonymous, bearer);
+		assertThat(anonymous).isLessThan(TimeUnit.MICROSECONDS.toNanos(50));
+	}
+
+	private static long nanosPerOp(RateLimitFilter filter, String[] tokens, int ops) throws Exception {
+		for (int i = 0; i < ops; i++) run(filter, i, tokens);
+		long started = System.nanoTime();
+		for (int i = 0; i < ops; i++) run(filter, i, tokens);
+		return (System.nanoTime() - started) / ops;
+	}
+
+	private static void run(RateLimitFilter filter, int i, String[] tokens) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/completions");
+		request.setRemoteAddr("10.1." + ((i >>> 8) & 0xFF) + "." + (i & 0xFF));
+		if (tokens != null) request.addHeader("Authorization", tokens[i % tokens.length]);
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+	}
+}
@@ -0,0 +1,69 @@
+package com.pathific.app.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.pathific.app.ratelimit.RateLimitProperties.Limit;
+import com.pathific.app.ratelimit.RateLimitProperties.Route;
+
+class TokenBucketTableTest {
+
+	private final AtomicLong now = new AtomicLong();
+
+	@Test
+	void allowsBurstThenRefillsAtRate() {
+		TokenBucketTable table = new TokenBucketTable(1000, TimeUnit.MINUTES.toNanos(10), now::get);
+		long key = TokenBucketTable.key("login", "ip", "10.0.0.1");
+
+		for (int i = 0; i < 3; i++) assertThat(table.tryConsume(key, 3, 1)).isZero();
+		long wait = table.tryConsume(key, 3, 1);
+		assertThat(wait).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+
+		now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		assertThat(table.tryConsume(key, 3, 1)).isZero();
+		assertThat(table.tryConsume(key, 3, 1)).isPositive();
+	}
+
+	@Test
+	void staysWithinMaxKeysAndEvictsIdleBuckets() {
+		TokenBucketTable table = new TokenBucketTable(256 * 4, TimeUnit.SECONDS.toNanos(30), now::get);
+		for (int i = 0; i < 100_000; i++) table.tryConsume(TokenBucketTable.key("ip", String.valueOf(i)), 5, 1);
+		assertThat(table.size()).isLessThanOrEqualTo(256 * 4);
+
+		now.addAndGet(TimeUnit.SECONDS.toNanos(31));
+		table.tryConsume(TokenBucketTable.key("ip", "fresh"), 5, 1);
+		table.evictIdle();
+		assertThat(table.size()).isEqualTo(1);
+	}
+
+	@Test
+	void limitsPerRouteByIpAndSubject() {
+		TokenBucketTable table = new TokenBucketTable(1000, TimeUnit.MINUTES.toNanos(10), now::get);
+		RateLimiter limiter = new RateLimiter(table, List.of(
+			new Route("completions", "POST", "/api/completions/**", new Limit(100, 60), new Limit(2, 60))));
+
+		assertThat(limiter.check("POST", "/api/completions", "1.1.1.1", () -> "a@x")).isZero();
+		assertThat(limiter.check("POST", "/api/completions", "2.2.2.2", () -> "a@x")).isZero();
+		assertThat(limiter.check("POST", "/api/completions", "3.3.3.3", () -> "a@x")).isPositive();
+		assertThat(limiter.check("POST", "/api/completions", "3.3.3.3", () -> "b@x")).isZero();
+		assertThat(limiter.check("GET", "/api/completions", "3.3.3.3", () -> "a@x")).isZero();
+	}
+
+	@Test
+	void subjectRejectionDoesNotSpendTheIpToken() {
+		TokenBucketTable table = new TokenBucketTable(1000, TimeUnit.MINUTES.toNanos(10), now::get);
+		RateLimiter limiter = new RateLimiter(table, List.of(
+			new Route("completions", "POST", "/api/completions/**", new Limit(2, 60), new Limit(1, 60))));
+
+		assertThat(limiter.check("POST", "/api/completions", "1.1.1.1", () -> "a@x")).isZero();
+		for (int i = 0; i < 5; i++) {
+			assertThat(limiter.check("POST", "/api/completions", "1.1.1.1", () -> "a@x")).isPositive();
+		}
+		assertThat(limiter.check("POST", "/api/completions", "1.1.1.1", () -> "b@x")).isZero();
+	}
+}
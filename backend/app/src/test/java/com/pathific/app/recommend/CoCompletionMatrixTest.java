@@ -0,0 +1,55 @@
+package com.pathific.app.recommend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CoCompletionMatrixTest {
+
+	@Test
+	void recommendsModulesCompletedByUsersWithOverlappingHistory() {
+		CoCompletionMatrix matrix = new CoCompletionMatrix(10, 100, 50);
+		// Users 1..3 all did 10 -> 20; two of them also did 30; one did 40
+		matrix.record(1, 10); matrix.record(1, 20); matrix.record(1, 30);
+		matrix.record(2, 10); matrix.record(2, 20); matrix.record(2, 30);
+		matrix.record(3, 10); matrix.record(3, 20); matrix.record(3, 40);
+		matrix.record(4, 10);
+		matrix.prune();
+
+		List<Recommendation> recs = matrix.recommend(4, 3);
+
+		assertThat(recs).extracting(Recommendation::moduleId).containsExactly(20L, 30L, 40L);
+		assertThat(recs.get(0).score()).isEqualTo(3);
+	}
+
+	@Test
+	void neverRecommendsCompletedModulesAndIgnoresDuplicates() {
+		CoCompletionMatrix matrix = new CoCompletionMatrix(10, 100, 50);
+		assertThat(matrix.record(1, 10)).isTrue();
+		assertThat(matrix.record(1, 20)).isTrue();
+		assertThat(matrix.record(1, 20)).isFalse();
+		matrix.record(2, 10);
+		matrix.record(2, 20);
+		matrix.prune();
+
+		assertThat(matrix.recommend(1, 5)).isEmpty();
+		assertThat(matrix.recommend(3, 5)).extracting(Recommendation::moduleId).containsExactly(10L, 20L);
+	}
+
+	@Test
+	void pruningBoundsRowsToTheStrongestNeighbours() {
+		CoCompletionMatrix matrix = new CoCompletionMatrix(2, 2, 50);
+		for (long user = 1; user <= 5; user++) {
+			matrix.record(user, 1);
+			matrix.record(user, 2);
+		}
+		for (long user = 1; user <= 3; user++) matrix.record(user, 3);
+		matrix.record(1, 4);
+		matrix.record(9, 1);
+		matrix.prune();
+
+		assertThat(matrix.recommend(9, 5)).extracting(Recommendation::moduleId).startsWith(2L, 3L);
+	}
+}
@@ -54,8 +54,10 @@ export default function CurateModulesPage() {
   }
 
   async function addModule(title:string, summary?:string){
-    const res=await fetch(`/api/modules/${courtId}`,{method:"POST",headers:{"Content-Type":"application/json"},
+    const token=localStorage.getItem("pathific_token");
+    const res=await fetch(`/api/modules/${courtId}`,{method:"POST",headers:{"Content-Type":"application/json", ...(token?{Authorization:`Bearer ${token}`}:{})},
       body:JSON.stringify({ title, summary, orderIndex: modules.length })});
+    if(res.status===401){ alert("Log in to add modules"); return; }
     const created:Module=await res.json(); setModules(prev=>[...prev, created]);
   }
 
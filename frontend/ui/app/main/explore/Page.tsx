@@ -2,14 +2,10 @@ import Image from "next/image";
 import Link from "next/link";
 
 export default async function ExplorePage() {
-  const [courtsRes, winnerRes, badgesRes] = await Promise.all([
-    fetch("/api/courts", { cache: "no-store" }),
-    fetch("/api/courts/winner", { cache: "no-store" }),
-    fetch("/api/badges", { cache: "no-store" })
-  ]);
-  const { items: courts } = await courtsRes.json();
-  const { winner } = await winnerRes.json();
-  const { items: badges } = await badgesRes.json();
+  // One round trip: the backend fetches courts, winner and badges concurrently.
+  // A part that failed or timed out is simply missing (listed in "errors").
+  const homeRes = await fetch("/api/home", { cache: "no-store" });
+  const { courts, winner, badges } = await homeRes.json();
 
   return (
     <div className="min-h-screen bg-[#0b0d10] text-white">
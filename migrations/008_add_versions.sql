@@ -0,0 +1,3 @@
+-- Optimistic concurrency: every conditional UPDATE bumps version, clients send it back in If-Match
+ALTER TABLE modules ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE module_items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
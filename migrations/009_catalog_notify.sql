@@ -0,0 +1,84 @@
+-- Cross-node catalog cache coherence: every committed change to a cached table sends
+-- one compact message on channel catalog_invalidation (delivered on COMMIT, dropped on ROLLBACK).
+--   "<region>:<key>,<key>,..."  keys whose cache entries must go
+--   "<region>:*"                the whole region (table-level change or too many keys)
+-- Regions: c = courts, m = modules by court_id, i = module_items by module_id, l = learn_items.
+-- Statement-level triggers with transition tables: a bulk write sends one message, not one per row.
+
+CREATE OR REPLACE FUNCTION pathific_notify_catalog() RETURNS trigger
+LANGUAGE plpgsql AS $$
+DECLARE
+  region  text := TG_ARGV[0];
+  max_keys int := 100;
+  rows_sql text;
+  n int;
+  keys text;
+BEGIN
+  IF TG_NARGS < 2 OR TG_OP = 'TRUNCATE' THEN
+    PERFORM pg_notify('catalog_invalidation', region || ':*');
+    RETURN NULL;
+  END IF;
+
+  rows_sql := CASE TG_OP
+    WHEN 'INSERT' THEN 'SELECT * FROM new_rows'
+    WHEN 'DELETE' THEN 'SELECT * FROM old_rows'
+    ELSE 'SELECT * FROM new_rows UNION ALL SELECT * FROM old_rows'
+  END;
+  EXECUTE format(
+    'SELECT count(*), string_agg(k::text, '','') FROM (SELECT DISTINCT %I AS k FROM (%s) changed LIMIT %s) d',
+    TG_ARGV[1], rows_sql, max_keys + 1)
+  INTO n, keys;
+
+  IF n = 0 THEN
+    RETURN NULL;
+  END IF;
+  IF n > max_keys THEN
+    keys := '*';
+  END IF;
+  PERFORM pg_notify('catalog_invalidation', region || ':' || keys);
+  RETURN NULL;
+END
+$$;
+
+-- courts and learn_items are cached as whole lists
+DROP TRIGGER IF EXISTS courts_notify ON courts;
+CREATE TRIGGER courts_notify AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON courts
+  FOR EACH STATEMENT EXECUTE FUNCTION pathific_notify_catalog('c');
+
+DROP TRIGGER IF EXISTS learn_items_notify ON learn_items;
+CREATE TRIGGER learn_items_notify AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON learn_items
+  FOR EACH STATEMENT EXECUTE FUNCTION pathific_notify_catalog('l');
+
+-- modules are cached per court
+DROP TRIGGER IF EXISTS modules_notify_ins ON modules;
+CREATE TRIGGER modules_notify_ins AFTER INSERT ON modules
+  REFERENCING NEW TABLE AS new_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION pathific_notify_catalog('m', 'court_id');
+DROP TRIGGER IF EXISTS modules_notify_upd ON modules;
+CREATE TRIGGER modules_notify_upd AFTER UPDATE ON modules
+  REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION pathific_notify_catalog('m', 'court_id');
+DROP TRIGGER IF EXISTS modules_notify_del ON modules;
+CREATE TRIGGER modules_notify_del AFTER DELETE ON modules
+  REFERENCING OLD TABLE AS old_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION pathific_notify_catalog('m', 'court_id');
+DROP TRIGGER IF EXISTS modules_notify_trunc ON modules;
+CREATE TRIGGER modules_notify_trunc AFTER TRUNCATE ON modules
+  FOR EACH STATEMENT EXECUTE FUNCTION pathific_notify_catalog('m');
+
+-- module_items are cached per module (cascaded deletes fire these too)
+DROP TRIGGER IF EXISTS module_items_notify_ins ON module_items;
+CREATE TRIGGER module_items_notify_ins AFTER INSERT ON module_items
+  REFERENCING NEW TABLE AS new_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION pathific_notify_catalog('i', 'module_id');
+DROP TRIGGER IF EXISTS module_items_notify_upd ON module_items;
+CREATE TRIGGER module_items_notify_upd AFTER UPDATE ON module_items
+  REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION pathific_notify_catalog('i', 'module_id');
+DROP TRIGGER IF EXISTS module_items_notify_del ON module_items;
+CREATE TRIGGER module_items_notify_del AFTER DELETE ON module_items
+  REFERENCING OLD TABLE AS old_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION pathific_notify_catalog('i', 'module_id');
+DROP TRIGGER IF EXISTS module_items_notify_trunc ON module_items;
+CREATE TRIGGER module_items_notify_trunc AFTER TRUNCATE ON module_items
+  FOR EACH STATEMENT EXECUTE FUNCTION pathific_notify_catalog('i');
@@ -0,0 +1,28 @@
+-- Badge awarding (CURATOR, WEEKLY_WINNER from ops/docker/init/012_badges.sql)
+
+-- Who created a module (same id space as completions.user_id); null for older rows
+ALTER TABLE modules ADD COLUMN IF NOT EXISTS curator_id BIGINT;
+
+CREATE TABLE IF NOT EXISTS user_badges (
+  user_id BIGINT NOT NULL,
+  badge_code VARCHAR(64) NOT NULL REFERENCES badges(code) ON DELETE CASCADE,
+  awarded_at TIMESTAMP NOT NULL DEFAULT NOW(),
+  -- A badge is held once: re-awarding is a no-op (INSERT ... ON CONFLICT DO NOTHING)
+  PRIMARY KEY (user_id, badge_code)
+);
+
+-- One winner per week, so nodes closing the same week can't both record one
+CREATE UNIQUE INDEX IF NOT EXISTS uq_weekly_winners_week ON weekly_winners (week_start);
+
+-- Per-user badge caches follow the catalog cache protocol (009_catalog_notify.sql), region b
+DROP TRIGGER IF EXISTS user_badges_notify_ins ON user_badges;
+CREATE TRIGGER user_badges_notify_ins AFTER INSERT ON user_badges
+  REFERENCING NEW TABLE AS new_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION pathific_notify_catalog('b', 'user_id');
+DROP TRIGGER IF EXISTS user_badges_notify_del ON user_badges;
+CREATE TRIGGER user_badges_notify_del AFTER DELETE ON user_badges
+  REFERENCING OLD TABLE AS old_rows
+  FOR EACH STATEMENT EXECUTE FUNCTION pathific_notify_catalog('b', 'user_id');
+DROP TRIGGER IF EXISTS user_badges_notify_trunc ON user_badges;
+CREATE TRIGGER user_badges_notify_trunc AFTER TRUNCATE ON user_badges
+  FOR EACH STATEMENT EXECUTE FUNCTION pathific_notify_catalog('b');